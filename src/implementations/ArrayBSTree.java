@@ -0,0 +1,702 @@
+package implementations;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+
+/**
+ * Binary Search Tree that keeps its nodes in parallel arrays instead of one object per node. A node is an index:
+ * its element is in <code>values</code> and its children and height are in the int arrays <code>left</code>,
+ * <code>right</code> and <code>height</code>. Index 0 is never used, so 0 stands for no node. Removed slots are put
+ * on a free list and reused by the next add.
+ * <p>
+ * Nodes returned by getRoot, search, removeMin and removeMax are new <code>BSTreeNode</code> objects holding only the
+ * element, they are not linked to the tree.
+ * </p>
+ *
+ * @param <E> The type of elements this list holds.
+ * @author TerrellAW
+ * @version 1.0
+ */
+public class ArrayBSTree<E extends Comparable<? super E>>
+	implements BSTreeADT<E>
+{
+
+	/**
+	 * Serialize Id
+	 */
+	private static final long serialVersionUID = 5187729446316530071L;
+	/**
+	 * Number of slots allocated by an empty tree, slot 0 included.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+	/**
+	 * Iteration orders understood by <code>TreeIterator</code>.
+	 */
+	private static final int PREORDER = 0, INORDER = 1, POSTORDER = 2;
+	/**
+	 * Element of each node.
+	 */
+	Object[] values;
+	/**
+	 * Left child, right child and height of each node.
+	 */
+	int[] left, right, height;
+	/**
+	 * Index of the root node, 0 when empty.
+	 */
+	int root;
+	/**
+	 * Count for amount of elements in <code>ArrayBSTree</code>.
+	 */
+	int count;
+	/**
+	 * First slot that has never been used.
+	 */
+	int next;
+	/**
+	 * First slot of the free list, 0 when empty. Free slots are chained through
+	 * left.
+	 */
+	int free;
+	/**
+	 * Balancing strategy applied by <code>ArrayBSTree</code> on mutation.
+	 */
+	final BSTree.BalanceMode mode;
+	/**
+	 * Number of structural changes, lets iterators detect changes made while they run.
+	 */
+	transient int modCount;
+	/**
+	 * Nodes visited by the last descent, reused so adds and removes do not allocate
+	 * and do not recurse once per level.
+	 */
+	private transient int[] path;
+
+	/**
+	 * Lazy iterator over the elements, keeps only the path to the next node in an
+	 * index array sized by the height of the tree.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private final class TreeIterator implements Iterator<E> {
+		/**
+		 * Nodes whose element or subtrees are still pending, top at depth - 1.
+		 */
+		private final int[] stack;
+		/**
+		 * Number of nodes on the stack.
+		 */
+		private int depth;
+		/**
+		 * One of PREORDER, INORDER or POSTORDER.
+		 */
+		private final int order;
+		/**
+		 * Modification count of the tree when the iterator was created.
+		 */
+		private final int expectedModCount;
+
+		/**
+		 * Constructs an iterator positioned before the first element.
+		 *
+		 * @param order one of PREORDER, INORDER or POSTORDER.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		TreeIterator(int order) {
+			this.stack = new int[height[root] + 1];
+			this.order = order;
+			this.expectedModCount = modCount;
+			if (order == PREORDER) {
+				if (root != 0) stack[depth++] = root;
+			} else if (order == INORDER) {
+				pushLeft(root);
+			} else {
+				pushFirst(root);
+			}
+		}
+
+		/**
+		 * Pushes a node and all of its left descendants.
+		 *
+		 * @param node root of the subtree, may be 0.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		private void pushLeft(int node) {
+			while (node != 0) {
+				stack[depth++] = node;
+				node = left[node];
+			}
+		}
+
+		/**
+		 * Pushes the path down to the first node of a subtree in post-order.
+		 *
+		 * @param node root of the subtree, may be 0.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		private void pushFirst(int node) {
+			while (node != 0) {
+				stack[depth++] = node;
+				node = (left[node] != 0) ? left[node] : right[node];
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return depth > 0;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public E next() throws NoSuchElementException {
+			if (modCount != expectedModCount) throw new ConcurrentModificationException("Tree was modified.");
+			if (depth == 0) throw new NoSuchElementException("No more elements.");
+			int node = stack[--depth];
+			if (order == PREORDER) {
+				if (right[node] != 0) stack[depth++] = right[node];
+				if (left[node] != 0) stack[depth++] = left[node];
+			} else if (order == INORDER) {
+				pushLeft(right[node]);
+			} else if (depth > 0 && left[stack[depth - 1]] == node) {
+				pushFirst(right[stack[depth - 1]]); // Back from a left child, right subtree is next
+			}
+			return (E) values[node];
+		}
+	}
+
+	/**
+	 * Constructs an empty array-backed Binary Search Tree.
+	 *
+	 * @return Instance of the <code>ArrayBSTree</code> class.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public ArrayBSTree() {
+		this(BSTree.BalanceMode.NONE);
+	}
+
+	/**
+	 * Constructs an empty array-backed Binary Search Tree using the given
+	 * balancing strategy.
+	 *
+	 * @param mode balancing strategy applied on add and remove.
+	 * @return Instance of the <code>ArrayBSTree</code> class.
+	 * @throws NullPointerException if mode is null.
+	 * @throws IllegalArgumentException if mode is SPLAY or SCAPEGOAT.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public ArrayBSTree( BSTree.BalanceMode mode ) {
+		if (mode == null) throw new NullPointerException("Balance mode cannot be null");
+		if (mode == BSTree.BalanceMode.SPLAY || mode == BSTree.BalanceMode.SCAPEGOAT)
+			throw new IllegalArgumentException("Balance mode " + mode + " is not supported");
+		this.mode = mode;
+		reset();
+	}
+
+	/**
+	 * Replaces the arrays with empty ones of the initial capacity.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void reset() {
+		this.values = new Object[INITIAL_CAPACITY];
+		this.left = new int[INITIAL_CAPACITY];
+		this.right = new int[INITIAL_CAPACITY];
+		this.height = new int[INITIAL_CAPACITY];
+		this.root = 0;
+		this.count = 0;
+		this.next = 1; // Slot 0 stands for no node
+		this.free = 0;
+	}
+
+	/**
+	 * Returns the balancing strategy used by the tree.
+	 *
+	 * @return balancing strategy applied on add and remove.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTree.BalanceMode getBalanceMode()
+	{
+		return this.mode;
+	}
+
+	/**
+	 * Takes a slot from the free list, or the next unused slot, growing the arrays
+	 * by half when they are full.
+	 *
+	 * @param value element stored in the new node.
+	 * @return index of the new node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int allocate(E value) {
+		int node = this.free;
+		if (node != 0) {
+			this.free = left[node]; // Pop the free list
+		} else {
+			if (this.next == values.length) {
+				int capacity = values.length + (values.length >> 1);
+				values = Arrays.copyOf(values, capacity);
+				left = Arrays.copyOf(left, capacity);
+				right = Arrays.copyOf(right, capacity);
+				height = Arrays.copyOf(height, capacity);
+			}
+			node = this.next++;
+		}
+		values[node] = value;
+		left[node] = 0;
+		right[node] = 0;
+		height[node] = 1;
+		return node;
+	}
+
+	/**
+	 * Puts a slot on the free list and drops its element.
+	 *
+	 * @param node index of the removed node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void release(int node) {
+		values[node] = null; // Let the element be collected
+		left[node] = this.free;
+		right[node] = 0;
+		this.free = node;
+	}
+
+	/**
+	 * Recalculates the height of a single node from its children.
+	 *
+	 * @param node node whose children already hold correct heights.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void updateNode(int node) {
+		height[node] = 1 + Math.max(height[left[node]], height[right[node]]);
+	}
+
+	/**
+	 * Rotates a subtree to the right, promoting the left child.
+	 *
+	 * @param node root of the subtree, must have a left child.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int rotateRight(int node) {
+		int pivot = left[node];
+		left[node] = right[pivot];
+		right[pivot] = node;
+		updateNode(node); // Demoted node first, pivot depends on it
+		updateNode(pivot);
+		return pivot;
+	}
+
+	/**
+	 * Rotates a subtree to the left, promoting the right child.
+	 *
+	 * @param node root of the subtree, must have a right child.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int rotateLeft(int node) {
+		int pivot = right[node];
+		right[node] = left[pivot];
+		left[pivot] = node;
+		updateNode(node); // Demoted node first, pivot depends on it
+		updateNode(pivot);
+		return pivot;
+	}
+
+	/**
+	 * Recalculates the height of a node whose children are already up to date
+	 * and, in AVL mode, restores the AVL property with rotations.
+	 *
+	 * @param node root of the subtree to fix.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int rebalance(int node) {
+		updateNode(node);
+		if (this.mode != BSTree.BalanceMode.AVL) return node; // Plain trees only track height
+
+		int balance = height[left[node]] - height[right[node]];
+
+		if (balance > 1) { // Left heavy
+			int child = left[node];
+			if (height[left[child]] < height[right[child]])
+				left[node] = rotateLeft(child); // Left-right case
+			return rotateRight(node);
+		}
+		if (balance < -1) { // Right heavy
+			int child = right[node];
+			if (height[right[child]] < height[left[child]])
+				right[node] = rotateRight(child); // Right-left case
+			return rotateLeft(node);
+		}
+		return node; // Already balanced
+	}
+
+	/**
+	 * Returns the path array, growing it to hold at least the given number of nodes.
+	 *
+	 * @param length number of nodes the path must hold.
+	 * @return the path array.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int[] path(int length) {
+		if (path == null || path.length < length) {
+			path = new int[Math.max(length, (path == null) ? 16 : 2 * path.length)];
+		}
+		return path;
+	}
+
+	/**
+	 * Fixes the heights and, in AVL mode, the balance of the nodes on a path from
+	 * the deepest one up, linking each subtree root a rotation makes to its parent.
+	 * Stops early once a node keeps its height and root, nothing above it changes.
+	 *
+	 * @param path nodes from the root down.
+	 * @param depth number of nodes on the path.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void fixPath(int[] path, int depth) {
+		for (int i = depth - 1; i >= 0; i--) {
+			int node = path[i];
+			int before = height[node];
+			int fixed = rebalance(node);
+			if (fixed != node) {
+				if (i == 0) {
+					this.root = fixed;
+				} else if (left[path[i - 1]] == node) {
+					left[path[i - 1]] = fixed;
+				} else {
+					right[path[i - 1]] = fixed;
+				}
+			} else if (height[node] == before) {
+				return; // Ancestors are unchanged
+			}
+		}
+	}
+
+	/**
+	 * Adds an element below the node it belongs under and fixes the path back to
+	 * the root.
+	 *
+	 * @param newEntry the element being added.
+	 * @return true if the element was added, false if it was already in the tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private boolean insert(E newEntry) {
+		int[] path = path(height[root]);
+		int depth = 0;
+		int cursor = this.root;
+		int comparison = 0;
+		while (cursor != 0) {
+			comparison = newEntry.compareTo((E) values[cursor]);
+			if (comparison == 0) return false; // Duplicate found
+			path[depth++] = cursor;
+			cursor = (comparison < 0) ? left[cursor] : right[cursor];
+		}
+
+		int node = allocate(newEntry); // Arrays may grow, index them after the call
+		if (depth == 0) {
+			this.root = node;
+		} else if (comparison < 0) {
+			left[path[depth - 1]] = node;
+		} else {
+			right[path[depth - 1]] = node;
+		}
+		this.count++;
+		fixPath(path, depth);
+		return true; // Success
+	}
+
+	/**
+	 * Unlinks the smallest node of the tree and fixes the path back to the root.
+	 *
+	 * @return index of the unlinked node, the tree must not be empty.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int detachMin() {
+		int[] path = path(height[root]);
+		int depth = 0;
+		int cursor = this.root;
+		while (left[cursor] != 0) {
+			path[depth++] = cursor;
+			cursor = left[cursor];
+		}
+		if (depth == 0) {
+			this.root = right[cursor];
+		} else {
+			left[path[depth - 1]] = right[cursor];
+		}
+		fixPath(path, depth);
+		return cursor;
+	}
+
+	/**
+	 * Unlinks the largest node of the tree and fixes the path back to the root.
+	 *
+	 * @return index of the unlinked node, the tree must not be empty.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int detachMax() {
+		int[] path = path(height[root]);
+		int depth = 0;
+		int cursor = this.root;
+		while (right[cursor] != 0) {
+			path[depth++] = cursor;
+			cursor = right[cursor];
+		}
+		if (depth == 0) {
+			this.root = left[cursor];
+		} else {
+			right[path[depth - 1]] = left[cursor];
+		}
+		fixPath(path, depth);
+		return cursor;
+	}
+
+	/**
+	 * Finds the node holding an element.
+	 *
+	 * @param entry element to find.
+	 * @return index of the node, 0 if not found.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private int find(E entry) {
+		int cursor = this.root;
+		while (cursor != 0) {
+			int comparison = entry.compareTo((E) values[cursor]);
+			if (comparison == 0) return cursor; // Success
+			cursor = (comparison < 0) ? left[cursor] : right[cursor];
+		}
+		return 0;
+	}
+
+	/**
+	 * A node holding the element at the root of the tree will be returned.
+	 *
+	 * @return a node holding the element at the root of tree
+	 * @throws NullPointerException if the tree is empty and there is no root node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public BSTreeNode<E> getRoot()
+			throws NullPointerException
+	{
+		if (this.root == 0) {
+			throw new NullPointerException("No root node found");
+		}
+		return new BSTreeNode<E>((E) values[root]);
+	}
+
+	/**
+	 * Determines the row height of the tree and returns that value as an integer
+	 * value.
+	 *
+	 * @return the height of the tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int getHeight()
+	{
+		return height[root]; // Slot 0 always has a height of zero
+	}
+
+	/**
+	 * The number of elements currently stored in the tree is counted and the value
+	 * is returned.
+	 *
+	 * @return number of elements currently stored in tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int size()
+	{
+		return this.count;
+	}
+
+	/**
+	 * Checks if the tree is currently empty.
+	 *
+	 * @return returns boolean true if the tree is empty otherwise false.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean isEmpty()
+	{
+		return this.root == 0;
+	}
+
+	/**
+	 * Clears all elements currently stored in tree and makes the tree empty. The
+	 * arrays go back to their initial capacity.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public void clear()
+	{
+		reset();
+		this.modCount++;
+	}
+
+	/**
+	 * Method used to check if the tree contains the value passed.
+	 *
+	 * @param entry The element to find in the tree
+	 * @return returns True if element is currently in the tree. False if
+	 *         the element is not found in the tree
+	 * @throws NullPointerException if the element being passed in is null.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean contains( E entry )
+			throws NullPointerException
+	{
+		if (entry == null) throw new NullPointerException("Cannot search for null values!");
+		return find(entry) != 0;
+	}
+
+	/**
+	 * Retrieves a node holding the element equal to the object to search for.
+	 *
+	 * @param entry element object being searched
+	 * @return a node with the element located in tree, null if not found
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public BSTreeNode<E> search( E entry )
+			throws NullPointerException
+	{
+		if (entry == null) throw new NullPointerException("Cannot search for null values!");
+		int node = find(entry);
+		return (node != 0) ? new BSTreeNode<E>((E) values[node]) : null;
+	}
+
+	/**
+	 * Adds a new element to the tree according to the natural ordering established
+	 * by the Comparable implementation.
+	 *
+	 * @param newEntry the element being added to the tree
+	 * @return a boolean true if the element is added successfully else false
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean add( E newEntry )
+			throws NullPointerException
+	{
+		if (newEntry == null)
+			throw new NullPointerException("Cannot add null to tree");
+
+		if (!insert(newEntry)) return false; // Duplicate found
+		this.modCount++;
+		return true; // Success
+	}
+
+	/**
+	 * Removes the smallest element in the tree.
+	 *
+	 * @return a node holding the removed element or null if the tree is empty
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public BSTreeNode<E> removeMin()
+	{
+		if (this.root == 0) return null;
+		int node = detachMin();
+		BSTreeNode<E> removed = new BSTreeNode<E>((E) values[node]);
+		release(node);
+		this.count--;
+		this.modCount++;
+		return removed;
+	}
+
+	/**
+	 * Removes the largest element in the tree.
+	 *
+	 * @return a node holding the removed element or null if the tree is empty.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public BSTreeNode<E> removeMax()
+	{
+		if (this.root == 0) return null;
+		int node = detachMax();
+		BSTreeNode<E> removed = new BSTreeNode<E>((E) values[node]);
+		release(node);
+		this.count--;
+		this.modCount++;
+		return removed;
+	}
+
+	/**
+	 * Generates an in-order iteration over the contents of the tree. Elements are
+	 * in their natural order and are visited lazily, changing the tree while
+	 * iterating makes the iterator throw ConcurrentModificationException. An empty
+	 * tree gives an empty iteration.
+	 *
+	 * @return an iterator with the elements in the natural order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> inorderIterator()
+	{
+		return new TreeIterator(INORDER);
+	}
+
+	/**
+	 * Generates a pre-order iteration over the contents of the tree. Elements are
+	 * order in such a way as the root element is first.
+	 *
+	 * @return an iterator with the elements in a root element first order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> preorderIterator()
+	{
+		return new TreeIterator(PREORDER);
+	}
+
+	/**
+	 * Generates a post-order iteration over the contents of the tree. Elements are
+	 * order in such a way as the root element is last.
+	 *
+	 * @return an iterator with the elements in a root element last order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> postorderIterator()
+	{
+		return new TreeIterator(POSTORDER);
+	}
+}
@@ -0,0 +1,63 @@
+package implementations;
+
+import java.util.NoSuchElementException;
+
+import utilities.Iterator;
+
+/**
+ * Class that contains an Iterator over a copy of the elements of a data structure. Used where the structure can
+ * change while the caller iterates, so the elements are copied once and the copy is walked.
+ * @param <E> Object with a generic type.
+ * @author TerrellAW
+ * @version 1.0
+ */
+class ArrayIterator<E> implements Iterator<E>
+{
+	/**
+	 * Copy of the elements in the order they are returned.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	Object[] values;
+	/**
+	 * Index of the next element to return.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	int cursor;
+
+	/**
+	 * Constructor that accepts the copied elements.
+	 * @param values elements in the order they are returned, not copied again.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	ArrayIterator(Object[] values)
+	{
+		this.values = values;
+	}
+
+	/**
+	 * Method used to check if there are more elements in the copy.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		return cursor < values.length;
+	}
+
+	/**
+	 * Method used to retrieve the next element of the copy.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E next() throws NoSuchElementException
+	{
+		if(!hasNext()) throw new NoSuchElementException("No more elements.");
+		return (E) values[cursor++];
+	}
+}
@@ -1,6 +1,13 @@
 package implementations;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BinaryOperator;
 
 import utilities.BSTreeADT;
 import utilities.Iterator;
@@ -22,6 +29,19 @@ public class BSTree<E extends Comparable<? super E>>
 	 * Serialize Id
 	 */
 	private static final long serialVersionUID = -2523314406863699048L;
+	/**
+	 * Default alpha of scapegoat mode, nodes may be twice as deep as in a perfectly
+	 * balanced tree.
+	 */
+	public static final double DEFAULT_ALPHA = 2.0;
+	/**
+	 * Natural logarithm of two, converts natural logarithms to base two.
+	 */
+	private static final double LN_2 = Math.log(2);
+	/**
+	 * Flags written after each element by writeObject for the children it has.
+	 */
+	private static final int HAS_LEFT = 1, HAS_RIGHT = 2;
 	/**
 	 * Root node of <code>BSTree</code>.
 	 */
@@ -34,6 +54,53 @@ public class BSTree<E extends Comparable<? super E>>
 	 * Count for amount of elements in <code>BSTree</code>.
 	 */
 	int count;
+	/**
+	 * Balancing strategy applied by <code>BSTree</code> on mutation.
+	 */
+	BalanceMode mode;
+	/**
+	 * Depth limit factor of scapegoat mode, a node of a subtree with n nodes may be
+	 * at most alpha * log2(n) levels below its root.
+	 */
+	double alpha;
+	/**
+	 * Number of structural changes, lets iterators detect changes made while they run.
+	 */
+	transient int modCount;
+	/**
+	 * Nodes from the root to the last node reached, reused by splay and scapegoat
+	 * modes.
+	 */
+	private transient BSTreeNode<E>[] path;
+
+	/**
+	 * Balancing strategies a <code>BSTree</code> can apply when it is mutated.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public enum BalanceMode {
+		/**
+		 * Plain binary search tree, the shape depends on insertion order.
+		 */
+		NONE,
+		/**
+		 * AVL tree, rotates on add and remove so the height stays O(log n).
+		 */
+		AVL,
+		/**
+		 * Splay tree, add, search, contains and remove move the node they reach to
+		 * the root, so elements used often are found in a few steps. Searching
+		 * changes the tree.
+		 */
+		SPLAY,
+		/**
+		 * Scapegoat tree, nodes hold no balance information. When an add leaves a
+		 * node deeper than alpha * log2(n), the lowest ancestor that is too tall for
+		 * its size is rebuilt perfectly balanced.
+		 */
+		SCAPEGOAT
+	}
 
 	/**
 	 * Constructs the Binary Search Tree.
@@ -43,9 +110,45 @@ public class BSTree<E extends Comparable<? super E>>
 	 * @version 1.0
 	 */
 	public BSTree() {
+		this(BalanceMode.NONE);
+	}
+
+	/**
+	 * Constructs an empty Binary Search Tree using the given balancing strategy.
+	 *
+	 * @param mode balancing strategy applied on add and remove.
+	 * @return Instance of the <code>BSTree</code> class.
+	 * @throws NullPointerException if mode is null.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTree( BalanceMode mode ) {
+		this(mode, DEFAULT_ALPHA);
+	}
+
+	/**
+	 * Constructs an empty Binary Search Tree using the given balancing strategy
+	 * and scapegoat depth limit. A larger alpha rebuilds less often on add but
+	 * allows deeper searches. An alpha of 1 keeps the tree perfectly balanced, at
+	 * the cost of rebuilding large subtrees on most adds.
+	 *
+	 * @param mode balancing strategy applied on add and remove.
+	 * @param alpha depth limit factor, only used in scapegoat mode.
+	 * @return Instance of the <code>BSTree</code> class.
+	 * @throws NullPointerException if mode is null.
+	 * @throws IllegalArgumentException if alpha is less than 1 or not finite.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTree( BalanceMode mode, double alpha ) {
+		if (mode == null) throw new NullPointerException("Balance mode cannot be null");
+		if (!(alpha >= 1.0) || Double.isInfinite(alpha))
+			throw new IllegalArgumentException("Alpha must be a finite number of at least 1");
 		this.root = null;
 		this.height = 0;
 		this.count = 0;
+		this.mode = mode;
+		this.alpha = alpha;
 	}
 
 	/**
@@ -59,6 +162,83 @@ public class BSTree<E extends Comparable<? super E>>
 		this.root = new BSTreeNode(value);
 		this.height = 1;
 		this.count = 1;
+		this.mode = BalanceMode.NONE;
+	}
+
+	/**
+	 * Returns the balancing strategy used by the tree.
+	 *
+	 * @return balancing strategy applied on add and remove.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BalanceMode getBalanceMode()
+	{
+		return (this.mode == null) ? BalanceMode.NONE : this.mode;
+	}
+
+	/**
+	 * Builds a perfectly balanced tree from an array of elements in strictly
+	 * increasing order. Runs in O(n) with no comparisons beyond the order check.
+	 *
+	 * @param <E> The type of elements the tree holds.
+	 * @param sorted elements in strictly increasing order.
+	 * @return Instance of the <code>BSTree</code> class holding the elements.
+	 * @throws NullPointerException if the array or any element is null.
+	 * @throws IllegalArgumentException if the elements are not strictly increasing.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public static <E extends Comparable<? super E>> BSTree<E> fromSorted( E[] sorted )
+			throws NullPointerException, IllegalArgumentException
+	{
+		BSTree<E> tree = new BSTree<E>();
+		tree.loadSorted(sorted, sorted.length);
+		return tree;
+	}
+
+	/**
+	 * Builds a perfectly balanced tree from a list of elements in strictly
+	 * increasing order. Runs in O(n) with no comparisons beyond the order check.
+	 *
+	 * @param <E> The type of elements the tree holds.
+	 * @param sorted elements in strictly increasing order.
+	 * @return Instance of the <code>BSTree</code> class holding the elements.
+	 * @throws NullPointerException if the list or any element is null.
+	 * @throws IllegalArgumentException if the elements are not strictly increasing.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public static <E extends Comparable<? super E>> BSTree<E> fromSorted( List<? extends E> sorted )
+			throws NullPointerException, IllegalArgumentException
+	{
+		Object[] values = sorted.toArray();
+		BSTree<E> tree = new BSTree<E>();
+		tree.loadSorted(values, values.length);
+		return tree;
+	}
+
+	/**
+	 * Builds a perfectly balanced tree from an iterator that returns elements in
+	 * strictly increasing order, for example the in-order iterator of another
+	 * tree. Runs in O(n) with no comparisons beyond the order check.
+	 *
+	 * @param <E> The type of elements the tree holds.
+	 * @param sorted iterator over elements in strictly increasing order.
+	 * @return Instance of the <code>BSTree</code> class holding the elements.
+	 * @throws NullPointerException if the iterator or any element is null.
+	 * @throws IllegalArgumentException if the elements are not strictly increasing.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public static <E extends Comparable<? super E>> BSTree<E> fromSorted( Iterator<? extends E> sorted )
+			throws NullPointerException, IllegalArgumentException
+	{
+		List<E> values = new ArrayList<E>();
+		while (sorted.hasNext()) {
+			values.add(sorted.next());
+		}
+		return fromSorted(values);
 	}
 
 	/**
@@ -116,20 +296,406 @@ public class BSTree<E extends Comparable<? super E>>
 	}
 
 	/**
-	 * Calculates and updates the height of node and its children.
+	 * Height of a node, empty subtrees have a height of zero.
+	 *
+	 * @param node node to measure, may be null.
+	 * @return height of the node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int height(BSTreeNode<E> node) {
+		return (node != null) ? node.height : 0;
+	}
+
+	/**
+	 * Number of nodes in a subtree, empty subtrees have a size of zero.
 	 *
+	 * @param node node to measure, may be null.
+	 * @return size of the subtree.
 	 * @author TerrellAW
 	 * @version 1.0
 	 */
-	private void updateHeights(BSTreeNode<E> node) {
-		if (node == null) return; // Can't update if no nodes
+	private int size(BSTreeNode<E> node) {
+		return (node != null) ? node.size : 0;
+	}
 
-		updateHeights(node.left); // Recursively handle all left nodes
-		updateHeights(node.right); // Recursively handle all right nodes
+	/**
+	 * Recalculates the height and subtree size of a single node from its children.
+	 *
+	 * @param node node whose children already hold correct heights and sizes.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void updateNode(BSTreeNode<E> node) {
+		node.height = 1 + max(height(node.left), height(node.right));
+		node.size = 1 + size(node.left) + size(node.right);
+	}
 
-		node.height = 1 + max(node.left != null ? node.left.height : 0,
-							  node.right != null ? node.right.height : 0); // Update each node's height
-		this.height = root.height; // Apply final height of tree
+	/**
+	 * Rotates a subtree to the right, promoting the left child.
+	 *
+	 * @param node root of the subtree, must have a left child.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> rotateRight(BSTreeNode<E> node) {
+		BSTreeNode<E> pivot = node.left;
+		node.left = pivot.right;
+		pivot.right = node;
+		updateNode(node); // Demoted node first, pivot depends on it
+		updateNode(pivot);
+		return pivot;
+	}
+
+	/**
+	 * Rotates a subtree to the left, promoting the right child.
+	 *
+	 * @param node root of the subtree, must have a right child.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> rotateLeft(BSTreeNode<E> node) {
+		BSTreeNode<E> pivot = node.right;
+		node.right = pivot.left;
+		pivot.left = node;
+		updateNode(node); // Demoted node first, pivot depends on it
+		updateNode(pivot);
+		return pivot;
+	}
+
+	/**
+	 * Recalculates the height and size of a node whose children are already up to
+	 * date and, in AVL mode, restores the AVL property with rotations.
+	 *
+	 * @param node root of the subtree to fix.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> rebalance(BSTreeNode<E> node) {
+		updateNode(node);
+		if (this.mode != BalanceMode.AVL) return node; // Plain trees only track height and size
+
+		int balance = height(node.left) - height(node.right);
+
+		if (balance > 1) { // Left heavy
+			if (height(node.left.left) < height(node.left.right))
+				node.left = rotateLeft(node.left); // Left-right case
+			return rotateRight(node);
+		}
+		if (balance < -1) { // Right heavy
+			if (height(node.right.right) < height(node.right.left))
+				node.right = rotateRight(node.right); // Right-left case
+			return rotateLeft(node);
+		}
+		return node; // Already balanced
+	}
+
+	/**
+	 * Returns the reusable path array, grown to hold at least the given number of
+	 * nodes.
+	 *
+	 * @param length number of nodes the path must hold.
+	 * @return the path array.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private BSTreeNode<E>[] path(int length) {
+		if (path == null || path.length < length) {
+			path = (BSTreeNode<E>[]) new BSTreeNode<?>[max(length, (path == null) ? 16 : 2 * path.length)];
+		}
+		return path;
+	}
+
+	/**
+	 * Moves the last node of a path to the root with zig, zig-zig and zig-zag
+	 * rotations, working up from the bottom. Every node on the path is rotated, so
+	 * all their heights and sizes are recalculated on the way.
+	 *
+	 * @param path nodes from the root down to the node to move up.
+	 * @param depth number of nodes on the path.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void splay(BSTreeNode<E>[] path, int depth) {
+		int i = depth - 1;
+		BSTreeNode<E> node = path[i];
+		while (i > 0) {
+			BSTreeNode<E> parent = path[i - 1];
+			BSTreeNode<E> top; // Node whose place node takes
+			if (i == 1) { // Zig, parent is the root
+				top = parent;
+				if (parent.left == node) rotateRight(parent); else rotateLeft(parent);
+				i -= 1;
+			} else {
+				BSTreeNode<E> grandparent = path[i - 2];
+				top = grandparent;
+				boolean nodeLeft = (parent.left == node);
+				if ((grandparent.left == parent) == nodeLeft) { // Zig-zig, rotate grandparent first
+					if (nodeLeft) {
+						rotateRight(grandparent);
+						rotateRight(parent);
+					} else {
+						rotateLeft(grandparent);
+						rotateLeft(parent);
+					}
+				} else if (nodeLeft) { // Zig-zag
+					grandparent.right = rotateRight(parent);
+					rotateLeft(grandparent);
+				} else {
+					grandparent.left = rotateLeft(parent);
+					rotateRight(grandparent);
+				}
+				i -= 2;
+			}
+			if (i > 0) { // Link node where top used to hang
+				BSTreeNode<E> above = path[i - 1];
+				if (above.left == top) above.left = node; else above.right = node;
+			}
+		}
+		this.root = node;
+		this.height = node.height;
+		if (depth > 1) this.modCount++;
+	}
+
+	/**
+	 * Splay mode search, finds the node holding an element and moves it, or the
+	 * last node reached if there is none, to the root.
+	 *
+	 * @param entry element to find.
+	 * @return the node holding entry, null if not found.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> splaySearch(E entry) {
+		BSTreeNode<E>[] path = path(this.height);
+		int depth = 0;
+		BSTreeNode<E> cursor = this.root;
+		BSTreeNode<E> found = null;
+		while (cursor != null) {
+			path[depth++] = cursor;
+			int comparison = entry.compareTo(cursor.value);
+			if (comparison == 0) {
+				found = cursor; // Success
+				break;
+			}
+			cursor = (comparison < 0) ? cursor.left : cursor.right;
+		}
+		if (depth > 0) splay(path, depth);
+		return found;
+	}
+
+	/**
+	 * Splay mode add, links a new node where the search ends and moves it to the
+	 * root. A duplicate is moved to the root instead.
+	 *
+	 * @param newEntry the element being added, the tree must not be empty.
+	 * @return the node already holding an equal element, null if newEntry was
+	 *         added.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> splayAdd(E newEntry) {
+		BSTreeNode<E>[] path = path(this.height + 1);
+		int depth = 0;
+		BSTreeNode<E> cursor = this.root;
+		int comparison = 0;
+		while (cursor != null) {
+			path[depth++] = cursor;
+			comparison = newEntry.compareTo(cursor.value);
+			if (comparison == 0) {
+				splay(path, depth); // Duplicate found, still counts as an access
+				return cursor;
+			}
+			cursor = (comparison < 0) ? cursor.left : cursor.right;
+		}
+
+		BSTreeNode<E> node = new BSTreeNode<E>(newEntry);
+		if (comparison < 0) path[depth - 1].left = node; else path[depth - 1].right = node;
+		path[depth++] = node;
+		this.count++;
+		splay(path, depth);
+		return null;
+	}
+
+	/**
+	 * Splay mode removal, moves the smallest or largest node to the root and
+	 * unlinks it.
+	 *
+	 * @param smallest true to remove the smallest element, false for the largest.
+	 * @return the removed node, the tree must not be empty.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> splayRemove(boolean smallest) {
+		BSTreeNode<E>[] path = path(this.height);
+		int depth = 0;
+		for (BSTreeNode<E> cursor = this.root; cursor != null; cursor = smallest ? cursor.left : cursor.right) {
+			path[depth++] = cursor;
+		}
+		splay(path, depth);
+
+		BSTreeNode<E> removed = this.root; // Has no child on the searched side
+		this.root = smallest ? removed.right : removed.left;
+		this.count--;
+		this.height = height(root);
+		this.modCount++;
+		return removed;
+	}
+
+	/**
+	 * Checks whether a subtree breaks the scapegoat depth limit, its deepest node
+	 * being more than alpha * log2(size) levels below it.
+	 *
+	 * @param node root of the subtree, must not be null.
+	 * @return true if the subtree should be rebuilt.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private boolean tooTall(BSTreeNode<E> node) {
+		return node.height - 1 > this.alpha * (Math.log(node.size) / LN_2);
+	}
+
+	/**
+	 * Rebuilds a subtree perfectly balanced from its elements.
+	 *
+	 * @param node root of the subtree, must not be null.
+	 * @return root of the rebuilt subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> rebuild(BSTreeNode<E> node) {
+		Object[] values = new Object[node.size];
+		Iterator<E> it = new InorderIterator<E>(node);
+		for (int i = 0; it.hasNext(); i++) {
+			values[i] = it.next();
+		}
+		return buildBalanced(values, 0, values.length - 1);
+	}
+
+	/**
+	 * Links a node in place of one of the nodes on a path.
+	 *
+	 * @param path nodes from the root down.
+	 * @param i index of the node being replaced.
+	 * @param old node being replaced.
+	 * @param node node taking its place.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void relink(BSTreeNode<E>[] path, int i, BSTreeNode<E> old, BSTreeNode<E> node) {
+		if (i == 0) {
+			this.root = node;
+		} else if (path[i - 1].left == old) {
+			path[i - 1].left = node;
+		} else {
+			path[i - 1].right = node;
+		}
+	}
+
+	/**
+	 * Fixes the height and size of every node on a path from the bottom up,
+	 * rotating in AVL mode, after a node below the path was linked or unlinked.
+	 *
+	 * @param path nodes from the root down.
+	 * @param depth number of nodes on the path.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void fixPath(BSTreeNode<E>[] path, int depth) {
+		for (int i = depth - 1; i >= 0; i--) {
+			BSTreeNode<E> node = path[i];
+			BSTreeNode<E> fixed = rebalance(node);
+			if (fixed != node) relink(path, i, node, fixed); // Rotated, new subtree root
+		}
+	}
+
+	/**
+	 * Scapegoat mode check after an add. While the tree is too tall, the lowest
+	 * ancestor of the new node that is too tall for its size is rebuilt.
+	 *
+	 * @param path nodes from the root down to the parent of the new node.
+	 * @param depth number of nodes on the path.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void rebuildTooTall(BSTreeNode<E>[] path, int depth) {
+		// A lone leaf is never too tall, so the search starts at its parent
+		for (int i = depth - 1; i >= 0 && tooTall(this.root); i--) {
+			if (!tooTall(path[i])) continue;
+			relink(path, i, path[i], rebuild(path[i]));
+			for (int j = i - 1; j >= 0; j--) {
+				updateNode(path[j]);
+			}
+		}
+	}
+
+	/**
+	 * Recursively links the middle element of a sorted range as the root of the
+	 * range, so every subtree is perfectly balanced.
+	 *
+	 * @param values elements in strictly increasing order.
+	 * @param low first index of the range.
+	 * @param high last index of the range.
+	 * @return root of the subtree, null if the range is empty.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private BSTreeNode<E> buildBalanced(Object[] values, int low, int high) {
+		if (low > high) return null; // Empty range
+
+		int middle = (low + high) >>> 1;
+		BSTreeNode<E> node = new BSTreeNode<E>((E) values[middle]);
+		node.left = buildBalanced(values, low, middle - 1);
+		node.right = buildBalanced(values, middle + 1, high);
+		updateNode(node);
+		return node;
+	}
+
+	/**
+	 * Replaces the contents of the tree with a perfectly balanced tree built from
+	 * sorted elements. Recursion depth is only log(n) since the result is balanced.
+	 *
+	 * @param values elements in strictly increasing order.
+	 * @param length number of elements to use from the start of values.
+	 * @throws NullPointerException if any element is null.
+	 * @throws IllegalArgumentException if the elements are not strictly increasing.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private void loadSorted(Object[] values, int length) {
+		for (int i = 0; i < length; i++) {
+			if (values[i] == null)
+				throw new NullPointerException("Cannot add null to tree");
+			if (i > 0 && ((E) values[i - 1]).compareTo((E) values[i]) >= 0)
+				throw new IllegalArgumentException("Elements must be in strictly increasing order");
+		}
+
+		this.root = buildBalanced(values, 0, length - 1);
+		this.count = length;
+		this.height = height(root);
+		this.modCount++;
+	}
+
+	/**
+	 * Copies the elements of the tree into an array in their natural order.
+	 *
+	 * @return array of size() elements in strictly increasing order.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private Object[] toSortedArray() {
+		Object[] values = new Object[this.count];
+		Iterator<E> it = new InorderIterator<E>(this.root);
+		for (int i = 0; it.hasNext(); i++) {
+			values[i] = it.next();
+		}
+		return values;
 	}
 
 	/**
@@ -158,6 +724,7 @@ public class BSTree<E extends Comparable<? super E>>
 		this.root = null;
 		this.height = 0;
 		this.count = 0;
+		this.modCount++;
 		// Garbage collector will deal with the rest
 	}
 
@@ -175,16 +742,18 @@ public class BSTree<E extends Comparable<? super E>>
 			throws NullPointerException 
 	{
 		if (entry == null) throw new NullPointerException("Cannot search for null values!");
-		//opens an iterator to search for the value.
-		Iterator<E> it = preorderIterator();
-		//while there is nodes.
-		while(it.hasNext()) 
+		if (this.mode == BalanceMode.SPLAY) return splaySearch(entry) != null;
+		//descends by key order like search, nothing is allocated.
+		BSTreeNode<E> cursor = this.root;
+		while(cursor != null) 
 		{
-			//if a node equals the value to compare.
-			if(it.next().equals(entry)) 
+			int comparison = entry.compareTo(cursor.value);
+			//if a node matches the value to compare.
+			if(comparison == 0) 
 			{
 				return true;
 			}
+			cursor = (comparison < 0) ? cursor.left : cursor.right;
 		}
 		//else return false.
 		return false;
@@ -211,25 +780,18 @@ public class BSTree<E extends Comparable<? super E>>
 		//return null instead of throwing an exception which is crashing the wordtracker app
 		if (root == null)
 			return null;
-		
-		if (entry.equals(root.value)) {
-			return root; // Success, root matches
-		}
-		
-		if (entry.compareTo(root.value) > 0) { // Check if entry is larger than root value
-			if (root.right != null )
-				return search(root.right, entry); // Look in right branch using overload
-			return null; // If right is null, it doesn't exist
-		}
-		
-		if (root.left != null)
-			return search(root.left, entry); // Look in left branch using overload
-		return null; // If left is null, it doesn't exist
+
+		if (this.mode == BalanceMode.SPLAY) return splaySearch(entry);
+
+		return search(root, entry);
 	}
 
 	/**
-	 * Uses recursion to retrieves a node from the tree given the object to search for.
+	 * Retrieves a node from the subtree below a node given the object to search
+	 * for. Elements match when compareTo returns zero, and the descent is a loop
+	 * so any depth of tree can be searched.
 	 * 
+	 * @param node root of the subtree to search, may be null.
 	 * @param entry element object being searched
 	 * @return the node with the element located in tree, null if not found
 	 * @throws NullPointerException if the element being passed in is null
@@ -241,49 +803,265 @@ public class BSTree<E extends Comparable<? super E>>
 	{
 		if (entry == null) throw new NullPointerException("Cannot search for null values!");
 
-		if (entry.equals(node.value)) {
-			return node; // Success, node matches
+		while (node != null) {
+			int comparison = entry.compareTo(node.value);
+			if (comparison == 0) {
+				return node; // Success, node matches
+			}
+			node = (comparison > 0) ? node.right : node.left; // Look in the branch entry belongs to
 		}
+		return null; // Reached an empty branch, it doesn't exist
+	}
+
+	/**
+	 * Merges the elements of another tree into this one. Both trees are flattened
+	 * in order, merged like two sorted lists and this tree is rebuilt perfectly
+	 * balanced, so the whole merge runs in O(m + n). The other tree is left
+	 * unchanged.
+	 * 
+	 * @param other tree whose elements are merged into this tree
+	 * @param combiner called with this tree's element and the other tree's
+	 *        element when both trees hold equal elements, its result is kept. If
+	 *        null, this tree's element is kept.
+	 * @throws NullPointerException if other is null or the combiner returns null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	public void merge( BSTree<E> other, BinaryOperator<E> combiner )
+			throws NullPointerException
+	{
+		Object[] mine = toSortedArray();
+		Object[] theirs = other.toSortedArray();
+		Object[] merged = new Object[mine.length + theirs.length];
 
-		if (entry.compareTo(node.value) > 0) { // Check if entry is larger than root value
-			if (node.right != null )
-				return search(node.right, entry); // Look in right branch using recursion
-			return null; // If right is null, it doesn't exist
+		int i = 0, j = 0, n = 0;
+		while (i < mine.length && j < theirs.length) {
+			int comparison = ((E) mine[i]).compareTo((E) theirs[j]);
+			if (comparison < 0) {
+				merged[n++] = mine[i++];
+			} else if (comparison > 0) {
+				merged[n++] = theirs[j++];
+			} else { // Equal elements become one
+				E kept = (E) mine[i++];
+				E dropped = (E) theirs[j++];
+				merged[n++] = (combiner != null) ? combiner.apply(kept, dropped) : kept;
+			}
 		}
-		
-		if (node.left != null)
-			return search(node.left, entry); // Look in left branch using recursion
-		return null; // If left is null, it doesn't exist
+		while (i < mine.length) merged[n++] = mine[i++];
+		while (j < theirs.length) merged[n++] = theirs[j++];
+
+		loadSorted(merged, n);
 	}
 
 	/**
-	 * Recursively inserts a node.
+	 * Retrieves the node holding the element at the given position of the natural
+	 * ordering, the smallest element is at position zero. Runs in O(h) using the
+	 * subtree size stored in every node.
+	 * 
+	 * @param k zero based position of the element in the natural ordering
+	 * @return the node with the element at position k
+	 * @throws IndexOutOfBoundsException if k is negative or not less than size()
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> select( int k )
+			throws IndexOutOfBoundsException
+	{
+		if (k < 0 || k >= this.count)
+			throw new IndexOutOfBoundsException("Index: " + k + ", Size: " + this.count);
+
+		BSTreeNode<E> cursor = this.root;
+		while (true) {
+			int leftSize = size(cursor.left);
+			if (k < leftSize) {
+				cursor = cursor.left; // Position is in the left branch
+			} else if (k > leftSize) {
+				k -= leftSize + 1; // Skip the left branch and this node
+				cursor = cursor.right;
+			} else {
+				return cursor; // Success, exactly leftSize smaller elements
+			}
+		}
+	}
+
+	/**
+	 * Counts the elements in the tree that are smaller than the given element,
+	 * which is the position the element has or would have in the natural
+	 * ordering. Runs in O(h) using the subtree size stored in every node.
+	 * 
+	 * @param entry element to rank, does not have to be in the tree
+	 * @return number of elements smaller than entry
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int rank( E entry )
+			throws NullPointerException
+	{
+		if (entry == null) throw new NullPointerException("Cannot rank null values!");
+
+		int rank = 0;
+		BSTreeNode<E> cursor = this.root;
+		while (cursor != null) {
+			int comparison = entry.compareTo(cursor.value);
+			if (comparison < 0) {
+				cursor = cursor.left; // Nothing counted, look left
+			} else if (comparison > 0) {
+				rank += size(cursor.left) + 1; // Left branch and this node are smaller
+				cursor = cursor.right;
+			} else {
+				return rank + size(cursor.left); // Success, only left branch is smaller
+			}
+		}
+		return rank;
+	}
+
+	/**
+	 * Finds the node closest to an element on one side of it in a single descent.
 	 *
-	 * @param node the starting point 
-	 * @param newEntry the element being added.
-	 * @return true if added successfully, false if duplicate
+	 * @param entry element to compare against, does not have to be in the tree.
+	 * @param above true to look for greater elements, false for smaller ones.
+	 * @param inclusive true if a node equal to entry is an acceptable answer.
+	 * @return the closest node on the requested side, null if there is none.
 	 * @author TerrellAW
 	 * @version 1.0
 	 */
-	private boolean insert(BSTreeNode<E> node, E newEntry) {
-		int comparison = newEntry.compareTo(node.value);
-		
-		// Check if newEntry comes before the value of node
-		if (comparison < 0) {
-			if (node.left != null) {
-				return insert(node.left, newEntry); // Go to next node
+	private BSTreeNode<E> nearest(E entry, boolean above, boolean inclusive) {
+		if (entry == null) throw new NullPointerException("Cannot search for null values!");
+
+		BSTreeNode<E> best = null;
+		BSTreeNode<E> cursor = this.root;
+		while (cursor != null) {
+			int comparison = entry.compareTo(cursor.value);
+			if (comparison == 0 && inclusive) {
+				return cursor; // Success, exact match allowed
 			}
-			node.left = new BSTreeNode<E>(newEntry);
-			return true; // Success
-		// Check if newEntry comes after the value of node
-		} else if (comparison > 0) {
-			if (node.right != null) {
-				return insert(node.right, newEntry); // Go to next node
+			if (above ? comparison < 0 : comparison > 0) {
+				best = cursor; // Right side of entry, look for a closer one
+				cursor = above ? cursor.left : cursor.right;
+			} else {
+				cursor = above ? cursor.right : cursor.left; // Wrong side of entry
 			}
-			node.right = new BSTreeNode<E>(newEntry);
-			return true; // Success
 		}
-		return false; // Duplicate found
+		return best;
+	}
+
+	/**
+	 * Retrieves the node with the greatest element less than or equal to the given
+	 * element.
+	 * 
+	 * @param entry element to compare against, does not have to be in the tree
+	 * @return the matching node, null if every element is greater
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> floor( E entry )
+			throws NullPointerException
+	{
+		return nearest(entry, false, true);
+	}
+
+	/**
+	 * Retrieves the node with the smallest element greater than or equal to the
+	 * given element.
+	 * 
+	 * @param entry element to compare against, does not have to be in the tree
+	 * @return the matching node, null if every element is smaller
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> ceiling( E entry )
+			throws NullPointerException
+	{
+		return nearest(entry, true, true);
+	}
+
+	/**
+	 * Retrieves the node with the smallest element strictly greater than the given
+	 * element.
+	 * 
+	 * @param entry element to compare against, does not have to be in the tree
+	 * @return the matching node, null if no element is greater
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> higher( E entry )
+			throws NullPointerException
+	{
+		return nearest(entry, true, false);
+	}
+
+	/**
+	 * Retrieves the node with the greatest element strictly less than the given
+	 * element.
+	 * 
+	 * @param entry element to compare against, does not have to be in the tree
+	 * @return the matching node, null if no element is smaller
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> lower( E entry )
+			throws NullPointerException
+	{
+		return nearest(entry, false, false);
+	}
+
+	/**
+	 * Inserts a node where the search for it ends, then fixes the height and size
+	 * of every node on the path back up. The path is kept in an array, so a
+	 * degenerate tree of any depth does not use the call stack.
+	 *
+	 * @param newEntry the element being added, the tree must not be empty.
+	 * @return the node already holding an equal element, null if newEntry was
+	 *         added.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> insert(E newEntry) {
+		BSTreeNode<E>[] path = path(this.height);
+		int depth = 0;
+		BSTreeNode<E> cursor = this.root;
+		int comparison = 0;
+		while (cursor != null) {
+			path[depth++] = cursor;
+			comparison = newEntry.compareTo(cursor.value);
+			if (comparison == 0) return cursor; // Duplicate found, nothing changed
+			cursor = (comparison < 0) ? cursor.left : cursor.right;
+		}
+
+		BSTreeNode<E> node = new BSTreeNode<E>(newEntry);
+		if (comparison < 0) path[depth - 1].left = node; else path[depth - 1].right = node;
+		this.count++;
+		fixPath(path, depth);
+		if (this.mode == BalanceMode.SCAPEGOAT) rebuildTooTall(path, depth);
+		return null; // Success
+	}
+
+	/**
+	 * Unlinks the smallest or largest node of the tree and fixes the path above it.
+	 *
+	 * @param smallest true to unlink the smallest node, false for the largest.
+	 * @return the unlinked node, the tree must not be empty.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> detach(boolean smallest) {
+		BSTreeNode<E>[] path = path(this.height);
+		int depth = 0;
+		for (BSTreeNode<E> cursor = this.root; cursor != null; cursor = smallest ? cursor.left : cursor.right) {
+			path[depth++] = cursor;
+		}
+
+		BSTreeNode<E> removed = path[--depth];
+		BSTreeNode<E> child = smallest ? removed.right : removed.left; // Only possible child
+		relink(path, depth, removed, child);
+		fixPath(path, depth);
+		return removed;
 	}
 
 	/**
@@ -303,20 +1081,55 @@ public class BSTree<E extends Comparable<? super E>>
 		if (newEntry == null)
 			throw new NullPointerException("Cannot add null to tree");
 
+		return put(newEntry) == null;
+	}
+
+	/**
+	 * Returns the element of the tree equal to the given one, adding the given
+	 * element first if there is none. Finding and adding share one descent, so
+	 * this replaces a search followed by an add on a miss.
+	 * 
+	 * @param entry the element to find or add
+	 * @return the element already in the tree, or entry if it was added
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public E getOrAdd( E entry )
+			throws NullPointerException
+	{
+		if (entry == null)
+			throw new NullPointerException("Cannot add null to tree");
+
+		BSTreeNode<E> existing = put(entry);
+		return (existing != null) ? existing.value : entry;
+	}
+
+	/**
+	 * Adds an element unless an equal one is already in the tree, shared by add
+	 * and getOrAdd.
+	 *
+	 * @param newEntry the element being added, must not be null.
+	 * @return the node already holding an equal element, null if newEntry was
+	 *         added.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> put(E newEntry) {
 		// Create root if one does not exist
 		if (isEmpty()) {
 			this.root = new BSTreeNode<E>(newEntry);
 			this.count++;
 			this.height++;
-			return true; // Success
+			this.modCount++;
+			return null; // Success
 		}
 
-		boolean added = insert(root, newEntry);
-		if (added) {
-			this.count++;
-			updateHeights(root);
-		}
-		return added;
+		BSTreeNode<E> existing = (this.mode == BalanceMode.SPLAY) ? splayAdd(newEntry) : insert(newEntry);
+		if (existing != null) return existing; // Duplicate found
+		this.height = root.height;
+		this.modCount++;
+		return null; // Success
 	}
 
 	/**
@@ -329,32 +1142,16 @@ public class BSTree<E extends Comparable<? super E>>
 	public BSTreeNode<E> removeMin() 
 	{
 		if(this.root == null || this.count == 0) return null;
-		//gets the root
-		BSTreeNode<E> cursor = getRoot();
-		BSTreeNode<E> parent = null;
-		//traverse to the leftmost element.
-		while(cursor.left != null) {
-			parent = cursor;
-			cursor = cursor.left;
-		}
-		//saves the node into a variable.
-		BSTreeNode<E> removed = cursor;
-		//if the root is the minimum value.
-		if(parent == null) {
-			this.root = cursor.left;
-		}
-		//if the maximum value has a right tree.
-		else if(cursor.right != null) {
-			parent.left = cursor.right;
-		}
-		//else the maximum value is a leaf.
-		else
-		{
-			//deletes the node.
-			parent.left = null;
-		}
+		if(this.mode == BalanceMode.SPLAY) return splayRemove(true);
+		//unlinks the leftmost node, only its ancestors need new heights.
+		BSTreeNode<E> removed = detach(true);
 		this.count--;
-		updateHeights(root);
+		if(this.mode == BalanceMode.SCAPEGOAT && root != null && tooTall(root)) {
+			//too tall for the remaining elements, rebuild the whole tree.
+			this.root = rebuild(root);
+		}
+		this.height = height(root);
+		this.modCount++;
 		return removed;
 	}
 
@@ -368,38 +1165,23 @@ public class BSTree<E extends Comparable<? super E>>
 	public BSTreeNode<E> removeMax()
 	{
 		if(this.root == null || this.count == 0) return null;
-		//gets the root
-		BSTreeNode<E> cursor = getRoot();
-		BSTreeNode<E> parent = null;
-		//traverse to the rightmost element.
-		while(cursor.right != null) {
-			parent = cursor;
-			cursor = cursor.right;
-		}
-		//saves the node into a variable.
-		BSTreeNode<E> removed = cursor;
-		//if the root is the maximum value.
-		if(parent == null) {
-			this.root = cursor.left;
-		}
-		//if the maximum value has a left tree.
-		else if(cursor.left != null) {
-			parent.right = cursor.left;
-		}
-		//else the maximum value is a leaf.
-		else
-		{
-			//deletes the node.
-			parent.right = null;
-		}
+		if(this.mode == BalanceMode.SPLAY) return splayRemove(false);
+		//unlinks the rightmost node, only its ancestors need new heights.
+		BSTreeNode<E> removed = detach(false);
 		this.count--;
-		updateHeights(root);
+		if(this.mode == BalanceMode.SCAPEGOAT && root != null && tooTall(root)) {
+			//too tall for the remaining elements, rebuild the whole tree.
+			this.root = rebuild(root);
+		}
+		this.height = height(root);
+		this.modCount++;
 		return removed;
 	}
 
 	/**
 	 * Generates an in-order iteration over the contents of the tree. Elements are
-	 * in their natural order.
+	 * in their natural order and are visited lazily, changing the tree while
+	 * iterating makes the iterator throw ConcurrentModificationException.
 	 * 
 	 * @return an iterator with the elements in the natural order
 	 * @author Estefano Campana
@@ -407,12 +1189,14 @@ public class BSTree<E extends Comparable<? super E>>
 	 */
 	public Iterator<E> inorderIterator() 
 	{
-		return new InorderIterator<E>(getRoot());
+		return new InorderIterator<E>(getRoot(), this);
 	}
 
 	/**
 	 * Generates a pre-order iteration over the contents of the tree. Elements are
-	 * order in such a way as the root element is first.
+	 * order in such a way as the root element is first. Elements are visited
+	 * lazily, changing the tree while iterating makes the iterator throw
+	 * ConcurrentModificationException.
 	 * 
 	 * @return an iterator with the elements in a root element first order
 	 * @author Estefano Campana
@@ -421,12 +1205,14 @@ public class BSTree<E extends Comparable<? super E>>
 	 */
 	public Iterator<E> preorderIterator() 
 	{
-		return new PreorderIterator<E>(getRoot());
+		return new PreorderIterator<E>(getRoot(), this);
 	}
 
 	/**
 	 * Generates a post-order iteration over the contents of the tree. Elements are
-	 * order in such a way as the root element is last.
+	 * order in such a way as the root element is last. Elements are visited
+	 * lazily, changing the tree while iterating makes the iterator throw
+	 * ConcurrentModificationException.
 	 * 
 	 * @return an iterator with the elements in a root element last order
 	 * @author Estefano Campana
@@ -434,7 +1220,114 @@ public class BSTree<E extends Comparable<? super E>>
 	 */
 	public Iterator<E> postorderIterator() 
 	{
-		return new PostorderIterator<E>(getRoot());
+		return new PostorderIterator<E>(getRoot(), this);
+	}
+
+	/**
+	 * Generates an in-order iteration over the elements from one element up to,
+	 * but not including, another. The iterator descends straight to the start of
+	 * the range and stops at its end, so it costs O(h + k) for k elements. An
+	 * empty tree gives an empty iteration. Changing the tree while iterating
+	 * makes the iterator throw ConcurrentModificationException.
+	 * 
+	 * @param from smallest element to return, inclusive
+	 * @param to first element past the range, exclusive
+	 * @return an iterator with the elements of the range in the natural order
+	 * @throws NullPointerException if either bound is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> rangeIterator( E from, E to )
+			throws NullPointerException
+	{
+		return new RangeIterator<E>(this.root, this, from, to);
 	}
-}
 
+	/**
+	 * Writes the tree without letting serialization recurse into the nodes, which
+	 * overflows the stack on a deep tree. The root field is written as null and
+	 * the elements follow in preorder, each with a byte telling which children it
+	 * has.
+	 *
+	 * @param out stream the tree is written to.
+	 * @throws IOException if the stream cannot be written.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void writeObject(ObjectOutputStream out)
+			throws IOException
+	{
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("root", null);
+		fields.put("height", this.height);
+		fields.put("count", this.count);
+		fields.put("mode", this.mode);
+		fields.put("alpha", this.alpha);
+		out.writeFields();
+
+		ArrayDeque<BSTreeNode<E>> stack = new ArrayDeque<BSTreeNode<E>>();
+		if (this.root != null) stack.push(this.root);
+		while (!stack.isEmpty()) {
+			BSTreeNode<E> node = stack.pop();
+			out.writeObject(node.value);
+			out.writeByte((node.left != null ? HAS_LEFT : 0) | (node.right != null ? HAS_RIGHT : 0));
+			if (node.right != null) stack.push(node.right); // Left subtree is written first
+			if (node.left != null) stack.push(node.left);
+		}
+	}
+
+	/**
+	 * Reads a tree written by writeObject, relinking the nodes with a stack of
+	 * parents still waiting for a right child. Trees saved with the nodes in the
+	 * root field, before writeObject existed, are read as they are.
+	 *
+	 * @param in stream the tree is read from.
+	 * @throws IOException if the stream cannot be read.
+	 * @throws ClassNotFoundException if the class of an element cannot be found.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in)
+			throws IOException, ClassNotFoundException
+	{
+		ObjectInputStream.GetField fields = in.readFields();
+		this.root = (BSTreeNode<E>) fields.get("root", null);
+		this.height = fields.get("height", 0);
+		this.count = fields.get("count", 0);
+		this.mode = (BalanceMode) fields.get("mode", null);
+		this.alpha = fields.get("alpha", 0.0);
+		if (this.root != null || this.count == 0) return; // Old format or empty tree
+
+		BSTreeNode<E>[] nodes = (BSTreeNode<E>[]) new BSTreeNode<?>[this.count];
+		ArrayDeque<BSTreeNode<E>> waiting = new ArrayDeque<BSTreeNode<E>>();
+		BSTreeNode<E> parent = null;
+		boolean leftChild = false;
+		for (int i = 0; i < nodes.length; i++) {
+			BSTreeNode<E> node = new BSTreeNode<E>((E) in.readObject());
+			int children = in.readByte();
+			if (parent == null) {
+				this.root = node;
+			} else if (leftChild) {
+				parent.left = node;
+			} else {
+				parent.right = node;
+			}
+			nodes[i] = node;
+
+			if ((children & HAS_RIGHT) != 0) waiting.push(node);
+			if ((children & HAS_LEFT) != 0) { // Next element is the left child
+				parent = node;
+				leftChild = true;
+			} else if (!waiting.isEmpty()) { // Next element is the right child of the nearest waiting parent
+				parent = waiting.pop();
+				leftChild = false;
+			}
+		}
+
+		// Children come after their parent in preorder, going backwards fixes them first
+		for (int i = nodes.length - 1; i >= 0; i--) {
+			updateNode(nodes[i]);
+		}
+	}
+}
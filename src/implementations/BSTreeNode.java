@@ -1,5 +1,7 @@
 package implementations;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 
 /**
@@ -21,6 +23,10 @@ public class BSTreeNode<E> implements Serializable
 	 * Height of the node.
 	 */
 	int height;
+	/**
+	 * Number of nodes in the subtree rooted at this node, including itself.
+	 */
+	int size;
 	/**
 	 * Value stored in the node.
 	 */
@@ -39,9 +45,30 @@ public class BSTreeNode<E> implements Serializable
 	 */
 	BSTreeNode(E value) {
 		this.height = 1;
+		this.size = 1;
 		this.value = value;
 	}
 
+	/**
+	 * Restores the node and fills in the subtree size for nodes that were saved
+	 * before sizes were tracked. Children are read before this method returns, so
+	 * their sizes are already known.
+	 *
+	 * @param in stream the node is read from.
+	 * @throws IOException if the stream cannot be read.
+	 * @throws ClassNotFoundException if the class of the value cannot be found.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void readObject(ObjectInputStream in)
+			throws IOException, ClassNotFoundException
+	{
+		in.defaultReadObject();
+		if (this.size == 0) {
+			this.size = 1 + (left != null ? left.size : 0) + (right != null ? right.size : 0);
+		}
+	}
+
 	/**
 	 * Returns the element stored in the node.
 	 *
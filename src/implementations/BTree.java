@@ -0,0 +1,691 @@
+package implementations;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+
+/**
+ * B-tree implementation of the BSTreeADT. Every node holds a sorted array of up to <code>2t - 1</code> elements and,
+ * unless it is a leaf, one more child than elements, where <code>t</code> is the minimum degree. A search reads a few
+ * wide nodes instead of one binary node per level, so it touches far fewer cache lines. All leaves are at the same
+ * depth.
+ * <p>
+ * Adding splits full nodes on the way down and removing fills small nodes on the way down, so both make one pass.
+ * Nodes returned by getRoot, search, removeMin and removeMax are new <code>BSTreeNode</code> objects holding only the
+ * element. Pre-order visits the elements of a node before its subtrees and post-order visits them after.
+ * </p>
+ *
+ * @param <E> The type of elements this list holds.
+ * @author TerrellAW
+ * @version 1.0
+ */
+public class BTree<E extends Comparable<? super E>>
+	implements BSTreeADT<E>
+{
+
+	/**
+	 * Serialize Id
+	 */
+	private static final long serialVersionUID = 3371958420190432618L;
+	/**
+	 * Minimum degree used by the default constructor, nodes hold up to 63 elements.
+	 */
+	public static final int DEFAULT_DEGREE = 32;
+	/**
+	 * Iteration orders understood by <code>TreeIterator</code>.
+	 */
+	private static final int PREORDER = 0, INORDER = 1, POSTORDER = 2;
+	/**
+	 * Minimum degree, every node other than the root holds at least degree - 1
+	 * elements.
+	 */
+	final int degree;
+	/**
+	 * Root node of <code>BTree</code>, never null.
+	 */
+	Node<E> root;
+	/**
+	 * Number of node levels, 0 when empty.
+	 */
+	int height;
+	/**
+	 * Count for amount of elements in <code>BTree</code>.
+	 */
+	int count;
+	/**
+	 * Number of structural changes, lets iterators detect changes made while they run.
+	 */
+	transient int modCount;
+
+	/**
+	 * Node of the B-tree.
+	 *
+	 * @param <E> The type of elements the node holds.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	static final class Node<E> implements Serializable {
+		/**
+		 * Serialize Id
+		 */
+		private static final long serialVersionUID = -4437261186958110215L;
+		/**
+		 * Elements in increasing order, only the first size are used.
+		 */
+		final Object[] keys;
+		/**
+		 * Child nodes, child i holds the elements between keys i - 1 and i. Null
+		 * for leaves.
+		 */
+		final Node<E>[] children;
+		/**
+		 * Number of elements in the node.
+		 */
+		int size;
+
+		/**
+		 * Constructs an empty node.
+		 *
+		 * @param degree minimum degree of the tree.
+		 * @param leaf true if the node has no children.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		@SuppressWarnings("unchecked")
+		Node(int degree, boolean leaf) {
+			this.keys = new Object[2 * degree - 1];
+			this.children = leaf ? null : (Node<E>[]) new Node<?>[2 * degree];
+		}
+
+		/**
+		 * Checks if the node is a leaf.
+		 *
+		 * @return true if the node has no children.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		boolean isLeaf() {
+			return children == null;
+		}
+
+		/**
+		 * Returns the element at an index.
+		 *
+		 * @param index index of the element.
+		 * @return the element.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		@SuppressWarnings("unchecked")
+		E key(int index) {
+			return (E) keys[index];
+		}
+	}
+
+	/**
+	 * Lazy iterator over the elements, keeps one position for each node on the
+	 * path from the root to the next element.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private final class TreeIterator implements Iterator<E> {
+		/**
+		 * Nodes on the path, top at depth - 1.
+		 */
+		private final Node<E>[] nodes;
+		/**
+		 * Step of each node on the path, see action.
+		 */
+		private final int[] steps;
+		/**
+		 * Number of nodes on the path.
+		 */
+		private int depth;
+		/**
+		 * One of PREORDER, INORDER or POSTORDER.
+		 */
+		private final int order;
+		/**
+		 * Modification count of the tree when the iterator was created.
+		 */
+		private final int expectedModCount;
+
+		/**
+		 * Constructs an iterator positioned before the first element.
+		 *
+		 * @param order one of PREORDER, INORDER or POSTORDER.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		@SuppressWarnings("unchecked")
+		TreeIterator(int order) {
+			this.nodes = (Node<E>[]) new Node<?>[height];
+			this.steps = new int[height];
+			this.order = order;
+			this.expectedModCount = modCount;
+			if (count > 0) {
+				nodes[depth++] = root;
+				settle();
+			}
+		}
+
+		/**
+		 * Says what a step of a node does in this order. Leaves visit their
+		 * elements in order. Internal nodes with n elements take 2n + 1 steps,
+		 * visiting n elements and n + 1 children in the order of the iterator.
+		 *
+		 * @param node node of the step.
+		 * @param step step of the node.
+		 * @return index of the element to visit, -2 - c to descend into child c, or
+		 *         -1 if the node is done.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		private int action(Node<E> node, int step) {
+			int n = node.size;
+			if (node.isLeaf()) return (step < n) ? step : -1;
+			if (step > 2 * n) return -1;
+			if (order == PREORDER) return (step < n) ? step : -2 - (step - n);
+			if (order == INORDER) return ((step & 1) == 1) ? step >> 1 : -2 - (step >> 1);
+			return (step <= n) ? -2 - step : step - n - 1;
+		}
+
+		/**
+		 * Descends and climbs until the node on top of the path has an element to
+		 * visit, or the path is empty.
+		 *
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		private void settle() {
+			while (depth > 0) {
+				Node<E> node = nodes[depth - 1];
+				int action = action(node, steps[depth - 1]);
+				if (action >= 0) return; // Element ready
+				if (action == -1) {
+					depth--; // Node done, back to its parent
+				} else {
+					steps[depth - 1]++;
+					nodes[depth] = node.children[-2 - action];
+					steps[depth] = 0;
+					depth++;
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return depth > 0;
+		}
+
+		@Override
+		public E next() throws NoSuchElementException {
+			if (modCount != expectedModCount) throw new ConcurrentModificationException("Tree was modified.");
+			if (depth == 0) throw new NoSuchElementException("No more elements.");
+			Node<E> node = nodes[depth - 1];
+			E value = node.key(action(node, steps[depth - 1]));
+			steps[depth - 1]++;
+			settle();
+			return value;
+		}
+	}
+
+	/**
+	 * Constructs an empty B-tree using the default minimum degree.
+	 *
+	 * @return Instance of the <code>BTree</code> class.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BTree() {
+		this(DEFAULT_DEGREE);
+	}
+
+	/**
+	 * Constructs an empty B-tree whose nodes hold between degree - 1 and
+	 * 2 * degree - 1 elements.
+	 *
+	 * @param degree minimum degree of the tree, at least 2.
+	 * @return Instance of the <code>BTree</code> class.
+	 * @throws IllegalArgumentException if degree is less than 2.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BTree( int degree ) {
+		if (degree < 2) throw new IllegalArgumentException("Degree must be at least 2");
+		this.degree = degree;
+		this.root = new Node<E>(degree, true);
+		this.height = 0;
+		this.count = 0;
+	}
+
+	/**
+	 * Finds the first element of a node that is not smaller than entry.
+	 *
+	 * @param node node to search.
+	 * @param entry element to find.
+	 * @return index of the element equal to entry, or -1 - i where i is the
+	 *         index entry would be inserted at.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static <E extends Comparable<? super E>> int indexOf(Node<E> node, E entry) {
+		int low = 0, high = node.size - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int comparison = entry.compareTo(node.key(middle));
+			if (comparison == 0) return middle; // Success
+			if (comparison < 0) {
+				high = middle - 1;
+			} else {
+				low = middle + 1;
+			}
+		}
+		return -1 - low;
+	}
+
+	/**
+	 * Splits the full child i of a node that is not full, moving the middle
+	 * element of the child up into the node.
+	 *
+	 * @param parent node that is not full.
+	 * @param i index of the full child.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void splitChild(Node<E> parent, int i) {
+		int t = this.degree;
+		Node<E> child = parent.children[i];
+		Node<E> sibling = new Node<E>(t, child.isLeaf());
+
+		// Upper half of child moves to the new sibling
+		System.arraycopy(child.keys, t, sibling.keys, 0, t - 1);
+		if (!child.isLeaf()) {
+			System.arraycopy(child.children, t, sibling.children, 0, t);
+			Arrays.fill(child.children, t, 2 * t, null);
+		}
+		sibling.size = t - 1;
+
+		// Middle element moves up
+		System.arraycopy(parent.keys, i, parent.keys, i + 1, parent.size - i);
+		System.arraycopy(parent.children, i + 1, parent.children, i + 2, parent.size - i);
+		parent.keys[i] = child.keys[t - 1];
+		parent.children[i + 1] = sibling;
+		parent.size++;
+
+		Arrays.fill(child.keys, t - 1, 2 * t - 1, null);
+		child.size = t - 1;
+		this.modCount++; // Splitting moves elements even if the add finds a duplicate
+	}
+
+	/**
+	 * Moves the separating element of a node down into its child i, and the first
+	 * element of the next child up to replace it.
+	 *
+	 * @param parent node of both children.
+	 * @param i index of the child that gets an element.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void borrowFromRight(Node<E> parent, int i) {
+		Node<E> child = parent.children[i];
+		Node<E> sibling = parent.children[i + 1];
+
+		child.keys[child.size] = parent.keys[i];
+		parent.keys[i] = sibling.keys[0];
+		System.arraycopy(sibling.keys, 1, sibling.keys, 0, sibling.size - 1);
+		sibling.keys[sibling.size - 1] = null;
+		if (!child.isLeaf()) {
+			child.children[child.size + 1] = sibling.children[0];
+			System.arraycopy(sibling.children, 1, sibling.children, 0, sibling.size);
+			sibling.children[sibling.size] = null;
+		}
+		child.size++;
+		sibling.size--;
+	}
+
+	/**
+	 * Moves the separating element of a node down into its child i, and the last
+	 * element of the previous child up to replace it.
+	 *
+	 * @param parent node of both children.
+	 * @param i index of the child that gets an element.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void borrowFromLeft(Node<E> parent, int i) {
+		Node<E> child = parent.children[i];
+		Node<E> sibling = parent.children[i - 1];
+
+		System.arraycopy(child.keys, 0, child.keys, 1, child.size);
+		child.keys[0] = parent.keys[i - 1];
+		parent.keys[i - 1] = sibling.keys[sibling.size - 1];
+		sibling.keys[sibling.size - 1] = null;
+		if (!child.isLeaf()) {
+			System.arraycopy(child.children, 0, child.children, 1, child.size + 1);
+			child.children[0] = sibling.children[sibling.size];
+			sibling.children[sibling.size] = null;
+		}
+		child.size++;
+		sibling.size--;
+	}
+
+	/**
+	 * Merges child i + 1 and the element between them into child i. Both children
+	 * hold degree - 1 elements, so the merged child is full.
+	 *
+	 * @param parent node of both children.
+	 * @param i index of the left child.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void merge(Node<E> parent, int i) {
+		Node<E> child = parent.children[i];
+		Node<E> sibling = parent.children[i + 1];
+
+		child.keys[child.size] = parent.keys[i];
+		System.arraycopy(sibling.keys, 0, child.keys, child.size + 1, sibling.size);
+		if (!child.isLeaf()) {
+			System.arraycopy(sibling.children, 0, child.children, child.size + 1, sibling.size + 1);
+		}
+		child.size += sibling.size + 1;
+
+		System.arraycopy(parent.keys, i + 1, parent.keys, i, parent.size - i - 1);
+		System.arraycopy(parent.children, i + 2, parent.children, i + 1, parent.size - i - 1);
+		parent.size--;
+		parent.keys[parent.size] = null;
+		parent.children[parent.size + 1] = null;
+
+		if (parent == this.root && parent.size == 0) { // Root emptied, tree loses a level
+			this.root = child;
+			this.height--;
+		}
+	}
+
+	/**
+	 * Makes sure child i of a node holds at least degree elements before the
+	 * removal descends into it, borrowing from or merging with a sibling.
+	 *
+	 * @param parent internal node.
+	 * @param i index of the child about to be descended into.
+	 * @return the node to descend into.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private Node<E> fill(Node<E> parent, int i) {
+		Node<E> child = parent.children[i];
+		if (child.size >= this.degree) return child; // Already has a spare element
+
+		if (i > 0 && parent.children[i - 1].size >= this.degree) {
+			borrowFromLeft(parent, i);
+		} else if (i < parent.size && parent.children[i + 1].size >= this.degree) {
+			borrowFromRight(parent, i);
+		} else if (i < parent.size) {
+			merge(parent, i);
+		} else {
+			merge(parent, i - 1);
+			child = parent.children[i - 1];
+		}
+		return child;
+	}
+
+	/**
+	 * A node holding the first element of the root node will be returned.
+	 *
+	 * @return a node holding the first element of the root of tree
+	 * @throws NullPointerException if the tree is empty and there is no root node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> getRoot()
+			throws NullPointerException
+	{
+		if (this.count == 0) {
+			throw new NullPointerException("No root node found");
+		}
+		return new BSTreeNode<E>(root.key(0));
+	}
+
+	/**
+	 * Determines the number of node levels of the tree and returns that value as
+	 * an integer value.
+	 *
+	 * @return the height of the tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int getHeight()
+	{
+		return this.height;
+	}
+
+	/**
+	 * The number of elements currently stored in the tree is counted and the value
+	 * is returned.
+	 *
+	 * @return number of elements currently stored in tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int size()
+	{
+		return this.count;
+	}
+
+	/**
+	 * Checks if the tree is currently empty.
+	 *
+	 * @return returns boolean true if the tree is empty otherwise false.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean isEmpty()
+	{
+		return this.count == 0;
+	}
+
+	/**
+	 * Clears all elements currently stored in tree and makes the tree empty.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public void clear()
+	{
+		this.root = new Node<E>(this.degree, true);
+		this.height = 0;
+		this.count = 0;
+		this.modCount++;
+	}
+
+	/**
+	 * Method used to check if the tree contains the value passed.
+	 *
+	 * @param entry The element to find in the tree
+	 * @return returns True if element is currently in the tree. False if
+	 *         the element is not found in the tree
+	 * @throws NullPointerException if the element being passed in is null.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean contains( E entry )
+			throws NullPointerException
+	{
+		return search(entry) != null;
+	}
+
+	/**
+	 * Retrieves a node holding the element equal to the object to search for.
+	 *
+	 * @param entry element object being searched
+	 * @return a node with the element located in tree, null if not found
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> search( E entry )
+			throws NullPointerException
+	{
+		if (entry == null) throw new NullPointerException("Cannot search for null values!");
+
+		Node<E> cursor = this.root;
+		while (true) {
+			int index = indexOf(cursor, entry);
+			if (index >= 0) return new BSTreeNode<E>(cursor.key(index)); // Success
+			if (cursor.isLeaf()) return null;
+			cursor = cursor.children[-1 - index];
+		}
+	}
+
+	/**
+	 * Adds a new element to the tree according to the natural ordering established
+	 * by the Comparable implementation. Full nodes are split on the way down, so
+	 * the leaf always has room. A duplicate found after a split leaves the split
+	 * in place.
+	 *
+	 * @param newEntry the element being added to the tree
+	 * @return a boolean true if the element is added successfully else false
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean add( E newEntry )
+			throws NullPointerException
+	{
+		if (newEntry == null)
+			throw new NullPointerException("Cannot add null to tree");
+		if (root.size == 2 * degree - 1) { // Full root, tree gains a level
+			Node<E> top = new Node<E>(this.degree, false);
+			top.children[0] = root;
+			this.root = top;
+			splitChild(top, 0);
+			this.height++;
+		}
+		if (this.height == 0) this.height = 1; // First element
+
+		Node<E> cursor = this.root;
+		while (true) {
+			int index = indexOf(cursor, newEntry);
+			if (index >= 0) return false; // Duplicate found
+			if (cursor.isLeaf()) break;
+
+			int i = -1 - index;
+			if (cursor.children[i].size == 2 * degree - 1) {
+				splitChild(cursor, i);
+				int comparison = newEntry.compareTo(cursor.key(i));
+				if (comparison == 0) return false; // Duplicate moved up by the split
+				if (comparison > 0) i++; // Entry belongs in the new sibling
+			}
+			cursor = cursor.children[i];
+		}
+
+		int i = -1 - indexOf(cursor, newEntry);
+		System.arraycopy(cursor.keys, i, cursor.keys, i + 1, cursor.size - i);
+		cursor.keys[i] = newEntry;
+		cursor.size++;
+		this.count++;
+		this.modCount++;
+		return true; // Success
+	}
+
+	/**
+	 * Removes the smallest element in the tree. Small nodes on the leftmost path
+	 * are filled on the way down, so the leaf always has a spare element.
+	 *
+	 * @return a node holding the removed element or null if the tree is empty
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> removeMin()
+	{
+		if (this.count == 0) return null;
+
+		Node<E> cursor = this.root;
+		while (!cursor.isLeaf()) {
+			cursor = fill(cursor, 0);
+		}
+
+		E removed = cursor.key(0);
+		System.arraycopy(cursor.keys, 1, cursor.keys, 0, cursor.size - 1);
+		cursor.size--;
+		cursor.keys[cursor.size] = null;
+		this.count--;
+		if (this.count == 0) this.height = 0;
+		this.modCount++;
+		return new BSTreeNode<E>(removed);
+	}
+
+	/**
+	 * Removes the largest element in the tree. Small nodes on the rightmost path
+	 * are filled on the way down, so the leaf always has a spare element.
+	 *
+	 * @return a node holding the removed element or null if the tree is empty.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> removeMax()
+	{
+		if (this.count == 0) return null;
+
+		Node<E> cursor = this.root;
+		while (!cursor.isLeaf()) {
+			cursor = fill(cursor, cursor.size);
+		}
+
+		cursor.size--;
+		E removed = cursor.key(cursor.size);
+		cursor.keys[cursor.size] = null;
+		this.count--;
+		if (this.count == 0) this.height = 0;
+		this.modCount++;
+		return new BSTreeNode<E>(removed);
+	}
+
+	/**
+	 * Generates an in-order iteration over the contents of the tree. Elements are
+	 * in their natural order and are visited lazily, changing the tree while
+	 * iterating makes the iterator throw ConcurrentModificationException. An empty
+	 * tree gives an empty iteration.
+	 *
+	 * @return an iterator with the elements in the natural order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> inorderIterator()
+	{
+		return new TreeIterator(INORDER);
+	}
+
+	/**
+	 * Generates a pre-order iteration over the contents of the tree. The elements
+	 * of a node come before the elements of its subtrees, so the elements of the
+	 * root come first.
+	 *
+	 * @return an iterator with the elements in a root element first order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> preorderIterator()
+	{
+		return new TreeIterator(PREORDER);
+	}
+
+	/**
+	 * Generates a post-order iteration over the contents of the tree. The elements
+	 * of a node come after the elements of its subtrees, so the elements of the
+	 * root come last.
+	 *
+	 * @return an iterator with the elements in a root element last order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> postorderIterator()
+	{
+		return new TreeIterator(POSTORDER);
+	}
+}
@@ -0,0 +1,419 @@
+package implementations;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+
+/**
+ * Thread-safe Binary Search Tree for read-mostly use. Every operation is delegated to a <code>BSTree</code>
+ * guarded by a <code>StampedLock</code>. Reads first run without locking and only take the read lock if a writer
+ * got in the way, so readers do not block each other or the writer. add, getOrAdd, removeMin, removeMax and clear
+ * take the write lock, as do search and contains in splay mode because they restructure the tree.
+ * <p>
+ * Nodes returned by getRoot, search, removeMin and removeMax are new <code>BSTreeNode</code> objects holding only the
+ * element, they are not linked to the tree.
+ * </p>
+ *
+ * @param <E> The type of elements this list holds.
+ * @author TerrellAW
+ * @version 1.0
+ */
+public class ConcurrentBSTree<E extends Comparable<? super E>>
+	implements BSTreeADT<E>
+{
+
+	/**
+	 * Serialize Id
+	 */
+	private static final long serialVersionUID = 4630857130928453271L;
+	/**
+	 * Tree holding the elements, only touched while holding a stamp from lock.
+	 */
+	final BSTree<E> tree;
+	/**
+	 * Lock guarding tree.
+	 */
+	final StampedLock lock;
+
+	/**
+	 * Constructs an empty thread-safe Binary Search Tree.
+	 *
+	 * @return Instance of the <code>ConcurrentBSTree</code> class.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public ConcurrentBSTree() {
+		this(BSTree.BalanceMode.NONE);
+	}
+
+	/**
+	 * Constructs an empty thread-safe Binary Search Tree using the given balancing strategy.
+	 *
+	 * @param mode balancing strategy applied on add and remove.
+	 * @return Instance of the <code>ConcurrentBSTree</code> class.
+	 * @throws NullPointerException if mode is null.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public ConcurrentBSTree( BSTree.BalanceMode mode ) {
+		this.tree = new BSTree<E>(mode);
+		this.lock = new StampedLock();
+	}
+
+	/**
+	 * Finds the element equal to the given one, first without locking. Every node
+	 * is read and validated before its children are followed, so a writer that
+	 * rotates nodes during the descent is seen before the reader can follow a link
+	 * it changed, and the descent is run again under the read lock. An exception
+	 * thrown by compareTo while a writer ran is treated the same way.
+	 *
+	 * @param entry element to find.
+	 * @return the element in tree, null if not found.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private E find(E entry) {
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0L) { // Zero means a writer holds the lock
+			try {
+				BSTreeNode<E> cursor = tree.root;
+				while (true) {
+					if (cursor == null) {
+						if (lock.validate(stamp)) return null; // Not found, nothing changed
+						break;
+					}
+					E value = cursor.value;
+					BSTreeNode<E> left = cursor.left;
+					BSTreeNode<E> right = cursor.right;
+					if (!lock.validate(stamp)) break; // A writer ran, links may be torn
+					int comparison = entry.compareTo(value);
+					if (comparison == 0) return value; // Success
+					cursor = (comparison < 0) ? left : right;
+				}
+			} catch (RuntimeException e) {
+				if (lock.validate(stamp)) throw e; // Not caused by a writer
+			}
+		}
+
+		stamp = lock.readLock();
+		try {
+			BSTreeNode<E> node = tree.search(entry);
+			return (node != null) ? node.value : null;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Runs a search like <code>find</code>, except in splay mode where searching
+	 * moves nodes and has to hold the write lock.
+	 *
+	 * @param entry element to find.
+	 * @return the element in tree, null if not found.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private E lookup(E entry) {
+		if (tree.getBalanceMode() != BSTree.BalanceMode.SPLAY) return find(entry);
+		long stamp = lock.writeLock();
+		try {
+			BSTreeNode<E> node = tree.search(entry);
+			return (node != null) ? node.value : null;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Copies the element of a node into a node that is not linked to tree.
+	 *
+	 * @param node node of tree, may be null.
+	 * @return a new node holding the same element, null if node is null.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> detached(BSTreeNode<E> node) {
+		return (node != null) ? new BSTreeNode<E>(node.value) : null;
+	}
+
+	/**
+	 * Copies the elements returned by an iterator of tree under the read lock, so
+	 * the caller can iterate while writers keep changing the tree.
+	 *
+	 * @param traversal creates the iterator of tree to copy.
+	 * @return an iterator over the copied elements.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private Iterator<E> snapshot(Supplier<Iterator<E>> traversal) {
+		long stamp = lock.readLock();
+		try {
+			Iterator<E> it = traversal.get();
+			Object[] values = new Object[tree.count];
+			for (int i = 0; it.hasNext(); i++) {
+				values[i] = it.next();
+			}
+			return new ArrayIterator<E>(values);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * A node holding the element at the root of the Binary Search Tree will be
+	 * returned.
+	 *
+	 * @return a node holding the element at the root of tree
+	 * @throws NullPointerException if the tree is empty and there is no root node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> getRoot()
+			throws NullPointerException
+	{
+		long stamp = lock.tryOptimisticRead();
+		BSTreeNode<E> root = tree.root;
+		E value = (root != null) ? root.value : null;
+		if (!lock.validate(stamp)) { // A writer ran, read again under the lock
+			stamp = lock.readLock();
+			try {
+				root = tree.root;
+				value = (root != null) ? root.value : null;
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		if (root == null) {
+			throw new NullPointerException("No root node found");
+		}
+		return new BSTreeNode<E>(value);
+	}
+
+	/**
+	 * Determines the row height of the tree and returns that value as an integer
+	 * value.
+	 *
+	 * @return the height of the tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int getHeight()
+	{
+		long stamp = lock.tryOptimisticRead();
+		int height = tree.height;
+		if (!lock.validate(stamp)) { // A writer ran, read again under the lock
+			stamp = lock.readLock();
+			try {
+				height = tree.height;
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return height;
+	}
+
+	/**
+	 * The number of elements currently stored in the tree is counted and the value
+	 * is returned.
+	 *
+	 * @return number of elements currently stored in tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int size()
+	{
+		long stamp = lock.tryOptimisticRead();
+		int count = tree.count;
+		if (!lock.validate(stamp)) { // A writer ran, read again under the lock
+			stamp = lock.readLock();
+			try {
+				count = tree.count;
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Checks if the tree is currently empty.
+	 *
+	 * @return returns boolean true if the tree is empty otherwise false.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+
+	/**
+	 * Clears all elements currently stored in tree and makes the tree empty.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public void clear()
+	{
+		long stamp = lock.writeLock();
+		try {
+			tree.clear();
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Method used to check if the tree contains the value passed.
+	 *
+	 * @param entry The element to find in the tree
+	 * @return returns True if element is currently in the tree. False if
+	 *         the element is not found in the tree
+	 * @throws NullPointerException if the element being passed in is null.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean contains( E entry )
+			throws NullPointerException
+	{
+		if (entry == null) throw new NullPointerException("Cannot search for null values!");
+		return lookup(entry) != null;
+	}
+
+	/**
+	 * Retrieves a node holding the element equal to the object to search for.
+	 *
+	 * @param entry element object being searched
+	 * @return a node with the element located in tree, null if not found
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> search( E entry )
+			throws NullPointerException
+	{
+		if (entry == null) throw new NullPointerException("Cannot search for null values!");
+		E found = lookup(entry);
+		return (found != null) ? new BSTreeNode<E>(found) : null;
+	}
+
+	/**
+	 * Adds a new element to the tree according to the natural ordering established
+	 * by the Comparable implementation.
+	 *
+	 * @param newEntry the element being added to the tree
+	 * @return a boolean true if the element is added successfully else false
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean add( E newEntry )
+			throws NullPointerException
+	{
+		long stamp = lock.writeLock();
+		try {
+			return tree.add(newEntry);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Returns the element of the tree equal to the given one, adding the given
+	 * element first if there is none. Both happen under one write lock, so two
+	 * threads adding equal elements get the same one back.
+	 *
+	 * @param entry the element to find or add
+	 * @return the element already in the tree, or entry if it was added
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public E getOrAdd( E entry )
+			throws NullPointerException
+	{
+		long stamp = lock.writeLock();
+		try {
+			return tree.getOrAdd(entry);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Removes the smallest element in the tree.
+	 *
+	 * @return a node holding the removed element or null if the tree is empty
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> removeMin()
+	{
+		long stamp = lock.writeLock();
+		try {
+			return detached(tree.removeMin());
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Removes the largest element in the tree.
+	 *
+	 * @return a node holding the removed element or null if the tree is empty.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> removeMax()
+	{
+		long stamp = lock.writeLock();
+		try {
+			return detached(tree.removeMax());
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Generates an in-order iteration over a copy of the contents of the tree taken
+	 * under the read lock. Elements are in their natural order.
+	 *
+	 * @return an iterator with the elements in the natural order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> inorderIterator()
+	{
+		return snapshot(tree::inorderIterator);
+	}
+
+	/**
+	 * Generates a pre-order iteration over a copy of the contents of the tree taken
+	 * under the read lock. Elements are order in such a way as the root element is
+	 * first.
+	 *
+	 * @return an iterator with the elements in a root element first order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> preorderIterator()
+	{
+		return snapshot(tree::preorderIterator);
+	}
+
+	/**
+	 * Generates a post-order iteration over a copy of the contents of the tree taken
+	 * under the read lock. Elements are order in such a way as the root element is
+	 * last.
+	 *
+	 * @return an iterator with the elements in a root element last order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> postorderIterator()
+	{
+		return snapshot(tree::postorderIterator);
+	}
+}
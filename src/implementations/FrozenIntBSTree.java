@@ -0,0 +1,226 @@
+package implementations;
+
+import java.io.Serializable;
+import java.util.NoSuchElementException;
+
+import utilities.IntIterator;
+
+/**
+ * Read-only copy of an {@link IntBSTree} stored in one <code>int</code> array in Eytzinger (breadth first) order,
+ * made by {@link IntBSTree#freeze()}. Slot 1 holds the root and the children of slot k are in slots 2k and 2k + 1, so
+ * a search computes the next slot from a plain int comparison instead of following a node reference, and the top
+ * levels of the tree share a few cache lines.
+ * <p>
+ * The tree never changes after it is built, so it can be read by any number of threads without locking.
+ * </p>
+ *
+ * @author TerrellAW
+ * @version 1.0
+ */
+public class FrozenIntBSTree implements Serializable
+{
+
+	/**
+	 * Serialize Id
+	 */
+	private static final long serialVersionUID = -6870224409935466127L;
+	/**
+	 * Slots of the keys four levels below a slot start at 16 times the slot, a run
+	 * of 16 ints is one cache line.
+	 */
+	private static final int LOOKAHEAD = 4;
+	/**
+	 * Keys in Eytzinger order, slot 0 is not used.
+	 */
+	final int[] keys;
+	/**
+	 * Position of the key of each slot in increasing order.
+	 */
+	final int[] ranks;
+	/**
+	 * Number of keys.
+	 */
+	final int count;
+
+	/**
+	 * In-order iterator that only keeps the slot of the next key.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private final class SlotIterator implements IntIterator {
+		/**
+		 * Slot of the next key, 0 when done.
+		 */
+		private int slot = first(count);
+
+		@Override
+		public boolean hasNext() {
+			return slot != 0;
+		}
+
+		@Override
+		public int next() throws NoSuchElementException {
+			if (slot == 0) throw new NoSuchElementException("No more elements.");
+			int key = keys[slot];
+			slot = successor(slot, count);
+			return key;
+		}
+	}
+
+	/**
+	 * Constructs a frozen tree from keys in strictly increasing order.
+	 *
+	 * @param sorted keys in strictly increasing order, not kept.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	FrozenIntBSTree(int[] sorted) {
+		this.count = sorted.length;
+		this.keys = new int[count + 1];
+		this.ranks = new int[count + 1];
+
+		// Slots visited in order take the keys in order
+		int slot = first(count);
+		for (int i = 0; i < count; i++) {
+			keys[slot] = sorted[i];
+			ranks[slot] = i;
+			slot = successor(slot, count);
+		}
+	}
+
+	/**
+	 * Slot of the smallest key, the end of the path of left children.
+	 *
+	 * @param count number of keys.
+	 * @return slot of the smallest key, 0 if there are none.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static int first(int count) {
+		if (count == 0) return 0;
+		int slot = 1;
+		while (2 * slot <= count) {
+			slot *= 2;
+		}
+		return slot;
+	}
+
+	/**
+	 * Slot of the next key in increasing order.
+	 *
+	 * @param slot slot of the current key.
+	 * @param count number of keys.
+	 * @return slot of the next key, 0 if slot holds the largest one.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static int successor(int slot, int count) {
+		if (2 * slot + 1 <= count) { // Smallest key of the right subtree
+			slot = 2 * slot + 1;
+			while (2 * slot <= count) {
+				slot *= 2;
+			}
+			return slot;
+		}
+		// Climb while coming from a right child, then once more
+		return slot >>> (Integer.numberOfTrailingZeros(~slot) + 1);
+	}
+
+	/**
+	 * Finds the slot of the smallest key that is not smaller than entry. The
+	 * descent only computes the next slot from each comparison, the answer is
+	 * recovered from the final slot at the end. Each step also reads the cache
+	 * line holding the keys four levels down, so the memory load the search will
+	 * wait for is already under way.
+	 *
+	 * @param entry key to look for.
+	 * @return slot of the smallest key not smaller than entry, 0 if all keys are
+	 *         smaller.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int lowerBound(int entry) {
+		int[] keys = this.keys;
+		int count = this.count;
+		int ahead = 0;
+		int slot = 1;
+		while (slot <= count) {
+			int next = slot << LOOKAHEAD;
+			if (next <= count) ahead ^= keys[next];
+			slot = 2 * slot + ((keys[slot] < entry) ? 1 : 0);
+		}
+		// Undo the right turns made after the last left turn, and the left turn
+		slot >>>= Integer.numberOfTrailingZeros(~slot) + 1;
+		// Never true, uses the keys read ahead so the loads are kept
+		if (count < 0) return ahead;
+		return slot;
+	}
+
+	/**
+	 * The number of keys stored in the tree is returned.
+	 *
+	 * @return number of keys stored in tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int size()
+	{
+		return this.count;
+	}
+
+	/**
+	 * Checks if the tree is empty.
+	 *
+	 * @return returns boolean true if the tree is empty otherwise false.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean isEmpty()
+	{
+		return this.count == 0;
+	}
+
+	/**
+	 * Method used to check if the tree contains the key passed.
+	 *
+	 * @param entry The key to find in the tree
+	 * @return returns True if key is in the tree. False if the key is not found
+	 *         in the tree
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean contains( int entry )
+	{
+		int slot = lowerBound(entry);
+		return slot != 0 && keys[slot] == entry;
+	}
+
+	/**
+	 * Counts the keys in the tree that are smaller than the given key, which is
+	 * the position the key has or would have in increasing order.
+	 *
+	 * @param entry key to rank, does not have to be in the tree
+	 * @return number of keys smaller than entry
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int rank( int entry )
+	{
+		int slot = lowerBound(entry);
+		return (slot == 0) ? this.count : ranks[slot];
+	}
+
+	/**
+	 * Generates an in-order iteration over the keys in increasing order, only the
+	 * slot of the next key is kept.
+	 *
+	 * @return an iterator with the keys in increasing order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public IntIterator inorderIterator()
+	{
+		return new SlotIterator();
+	}
+}
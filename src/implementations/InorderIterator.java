@@ -1,56 +1,83 @@
 package implementations;
 
 import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
 import java.util.Deque;
 import java.util.NoSuchElementException;
 
 import utilities.Iterator;
 
 /**
- * Class that contains the In-Order Iterator for a Binary Search Tree.
+ * Class that contains the In-Order Iterator for a Binary Search Tree. Nodes are visited lazily, only the path
+ * from the root to the next node is kept, so the first element is ready after O(h) steps and O(h) memory.
  * @param <E> Object with a generic type.
  * @author Estefano Campana
  * @version 1.0
  */
-public class InorderIterator<E> implements Iterator<E> 
+public class InorderIterator<E> implements Iterator<E>
 {
 	/**
-	 * Stack object where the sequence of the In-Order traversal search will be saved.
+	 * Stack object that holds the nodes whose value and right subtree are still pending.
 	 * @author Estefano Campana
 	 * @version 1.0
 	 */
-	Deque<E> res = new ArrayDeque<E>();
+	Deque<BSTreeNode<E>> res = new ArrayDeque<BSTreeNode<E>>();
+	/**
+	 * Tree being iterated, null if the iterator was built from a bare node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	BSTree<?> tree;
+	/**
+	 * Modification count of the tree when the iterator was created.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	int expectedModCount;
 	/**
 	 * Constructor that accepts the root of the tree.
 	 * @param root BSTreeNode class object that represents the root.
 	 * @author Estefano Campana
 	 * @version 1.0
 	 */
-	public InorderIterator(BSTreeNode<E> root) 
+	public InorderIterator(BSTreeNode<E> root)
 	{
-		//recursive function to traverse through the tree.
-		inOrder(root);
+		//only the left spine is needed to find the smallest value.
+		pushLeft(root);
 	}
-	
+
 	/**
-	 * Method that searches nodes inside a tree with the In-Order traversal. Smallest value comes first, then its parent,
-	 * then the right subtree of this parent, after that the root comes in and repeat the same process for the right tree.
+	 * Constructor that accepts the root of the tree and the tree that owns it, so changes to the tree during the
+	 * iteration can be detected.
+	 * @param root BSTreeNode class object that represents the root.
+	 * @param tree BSTree class object that owns the root.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	InorderIterator(BSTreeNode<E> root, BSTree<?> tree)
+	{
+		this(root);
+		this.tree = tree;
+		this.expectedModCount = tree.modCount;
+	}
+
+	/**
+	 * Method that pushes a node and all of its left descendants, the last node pushed is the smallest value of the
+	 * subtree and sits on top of the stack.
 	 * @param node Current node of the tree.
 	 * @author Estefano Campana
 	 * @version 1.0
 	 */
-	private void inOrder(BSTreeNode<E> node) 
+	private void pushLeft(BSTreeNode<E> node)
 	{
-		//if the node is null do not do anything.
-		if(node == null) return;
-		//traverse the left subtree first.
-		inOrder(node.left);
-		//add the value into stack.
-		res.add(node.value);
-		//traverse the right subtree after.
-		inOrder(node.right);
+		//walks down the left side of the subtree.
+		while(node != null)
+		{
+			res.push(node);
+			node = node.left;
+		}
 	}
-	
+
 	/**
 	 * Method used to check if there are more nodes in the tree. In other words, this method checks if Stack is empty,
 	 * if it is empty then there are no more nodes.
@@ -58,20 +85,25 @@ public class InorderIterator<E> implements Iterator<E>
 	 * @version 1.0
 	 */
 	@Override
-	public boolean hasNext() 
+	public boolean hasNext()
 	{
 		return !res.isEmpty();
 	}
 	/**
 	 * Method used to retrieve the next value in the tree in the In-Order traversal.
+	 * @throws ConcurrentModificationException if the tree was changed after the iterator was created.
 	 * @author Estefano Campana
 	 * @version 1.0
 	 */
 	@Override
-	public E next() throws NoSuchElementException 
+	public E next() throws NoSuchElementException
 	{
+		if(tree != null && tree.modCount != expectedModCount) throw new ConcurrentModificationException("Tree was modified.");
 		if(!hasNext()) throw new NoSuchElementException("No more elements.");
-		//returns the head in the stack, which has all the nodes inside a tree.
-		return res.remove();
+		//the top of the stack is the next smallest value.
+		BSTreeNode<E> node = res.pop();
+		//its right subtree comes before any node left in the stack.
+		pushLeft(node.right);
+		return node.value;
 	}
-}
\ No newline at end of file
+}
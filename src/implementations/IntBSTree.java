@@ -0,0 +1,544 @@
+package implementations;
+
+import java.io.Serializable;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import utilities.IntIterator;
+
+/**
+ * Binary Search Tree of primitive <code>int</code> keys. Keys are stored and compared as plain ints, so adding,
+ * searching and iterating never box a value or call compareTo. The tree is always kept balanced with AVL rotations.
+ *
+ * @author TerrellAW
+ * @version 1.0
+ */
+public class IntBSTree implements Serializable
+{
+
+	/**
+	 * Serialize Id
+	 */
+	private static final long serialVersionUID = -3518203962651702917L;
+	/**
+	 * Iteration orders understood by <code>TreeIterator</code>.
+	 */
+	private static final int PREORDER = 0, INORDER = 1, POSTORDER = 2;
+	/**
+	 * Root node of <code>IntBSTree</code>.
+	 */
+	Node root;
+	/**
+	 * Count for amount of elements in <code>IntBSTree</code>.
+	 */
+	int count;
+	/**
+	 * Number of structural changes, lets iterators detect changes made while they run.
+	 */
+	transient int modCount;
+
+	/**
+	 * Node that stores an int key.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public static final class Node implements Serializable {
+		/**
+		 * Serialize Id
+		 */
+		private static final long serialVersionUID = 6094462883129472160L;
+		/**
+		 * Key stored in the node.
+		 */
+		final int value;
+		/**
+		 * Height of the node.
+		 */
+		int height;
+		/**
+		 * Attached child nodes.
+		 */
+		Node left, right;
+
+		/**
+		 * Constructs the node object.
+		 *
+		 * @param value key stored in the node.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		Node(int value) {
+			this.value = value;
+			this.height = 1;
+		}
+
+		/**
+		 * Returns the key stored in the node.
+		 *
+		 * @return the key stored in the node.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		public int getElement() {
+			return this.value;
+		}
+	}
+
+	/**
+	 * Lazy iterator over the keys, keeps only the path to the next node in an
+	 * array sized by the height of the tree.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private final class TreeIterator implements IntIterator {
+		/**
+		 * Nodes whose key or subtrees are still pending, top at depth - 1.
+		 */
+		private final Node[] stack;
+		/**
+		 * Number of nodes on the stack.
+		 */
+		private int depth;
+		/**
+		 * One of PREORDER, INORDER or POSTORDER.
+		 */
+		private final int order;
+		/**
+		 * Modification count of the tree when the iterator was created.
+		 */
+		private final int expectedModCount;
+
+		/**
+		 * Constructs an iterator positioned before the first key.
+		 *
+		 * @param order one of PREORDER, INORDER or POSTORDER.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		TreeIterator(int order) {
+			this.stack = new Node[height(root) + 1];
+			this.order = order;
+			this.expectedModCount = modCount;
+			if (order == PREORDER) {
+				if (root != null) stack[depth++] = root;
+			} else if (order == INORDER) {
+				pushLeft(root);
+			} else {
+				pushFirst(root);
+			}
+		}
+
+		/**
+		 * Pushes a node and all of its left descendants.
+		 *
+		 * @param node root of the subtree, may be null.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		private void pushLeft(Node node) {
+			while (node != null) {
+				stack[depth++] = node;
+				node = node.left;
+			}
+		}
+
+		/**
+		 * Pushes the path down to the first node of a subtree in post-order.
+		 *
+		 * @param node root of the subtree, may be null.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		private void pushFirst(Node node) {
+			while (node != null) {
+				stack[depth++] = node;
+				node = (node.left != null) ? node.left : node.right;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return depth > 0;
+		}
+
+		@Override
+		public int next() throws NoSuchElementException {
+			if (modCount != expectedModCount) throw new ConcurrentModificationException("Tree was modified.");
+			if (depth == 0) throw new NoSuchElementException("No more elements.");
+			Node node = stack[--depth];
+			if (order == PREORDER) {
+				if (node.right != null) stack[depth++] = node.right;
+				if (node.left != null) stack[depth++] = node.left;
+			} else if (order == INORDER) {
+				pushLeft(node.right);
+			} else if (depth > 0 && stack[depth - 1].left == node) {
+				pushFirst(stack[depth - 1].right); // Back from a left child, right subtree is next
+			}
+			return node.value;
+		}
+	}
+
+	/**
+	 * Constructs an empty tree of int keys.
+	 *
+	 * @return Instance of the <code>IntBSTree</code> class.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public IntBSTree() {
+		this.root = null;
+		this.count = 0;
+	}
+
+	/**
+	 * Height of a node, empty subtrees have a height of zero.
+	 *
+	 * @param node node to measure, may be null.
+	 * @return height of the node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static int height(Node node) {
+		return (node != null) ? node.height : 0;
+	}
+
+	/**
+	 * Recalculates the height of a single node from its children.
+	 *
+	 * @param node node whose children already hold correct heights.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static void updateNode(Node node) {
+		node.height = 1 + Math.max(height(node.left), height(node.right));
+	}
+
+	/**
+	 * Rotates a subtree to the right, promoting the left child.
+	 *
+	 * @param node root of the subtree, must have a left child.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static Node rotateRight(Node node) {
+		Node pivot = node.left;
+		node.left = pivot.right;
+		pivot.right = node;
+		updateNode(node); // Demoted node first, pivot depends on it
+		updateNode(pivot);
+		return pivot;
+	}
+
+	/**
+	 * Rotates a subtree to the left, promoting the right child.
+	 *
+	 * @param node root of the subtree, must have a right child.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static Node rotateLeft(Node node) {
+		Node pivot = node.right;
+		node.right = pivot.left;
+		pivot.left = node;
+		updateNode(node); // Demoted node first, pivot depends on it
+		updateNode(pivot);
+		return pivot;
+	}
+
+	/**
+	 * Recalculates the height of a node whose children are already up to date and
+	 * restores the AVL property with rotations.
+	 *
+	 * @param node root of the subtree to fix.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static Node rebalance(Node node) {
+		updateNode(node);
+		int balance = height(node.left) - height(node.right);
+
+		if (balance > 1) { // Left heavy
+			if (height(node.left.left) < height(node.left.right))
+				node.left = rotateLeft(node.left); // Left-right case
+			return rotateRight(node);
+		}
+		if (balance < -1) { // Right heavy
+			if (height(node.right.right) < height(node.right.left))
+				node.right = rotateRight(node.right); // Right-left case
+			return rotateLeft(node);
+		}
+		return node; // Already balanced
+	}
+
+	/**
+	 * Recursively adds a key and fixes the path back to the root.
+	 *
+	 * @param node root of the subtree, may be null.
+	 * @param newEntry the key being added.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private Node insert(Node node, int newEntry) {
+		if (node == null) {
+			this.count++;
+			return new Node(newEntry); // Success
+		}
+
+		if (newEntry < node.value) {
+			node.left = insert(node.left, newEntry);
+		} else if (newEntry > node.value) {
+			node.right = insert(node.right, newEntry);
+		} else {
+			return node; // Duplicate found, nothing changed below
+		}
+		return rebalance(node);
+	}
+
+	/**
+	 * Recursively unlinks the smallest node of a subtree and fixes the path.
+	 *
+	 * @param node root of the subtree, must not be null.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static Node detachMin(Node node) {
+		if (node.left == null) return node.right; // Minimum found
+		node.left = detachMin(node.left);
+		return rebalance(node);
+	}
+
+	/**
+	 * Recursively unlinks the largest node of a subtree and fixes the path.
+	 *
+	 * @param node root of the subtree, must not be null.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static Node detachMax(Node node) {
+		if (node.right == null) return node.left; // Maximum found
+		node.right = detachMax(node.right);
+		return rebalance(node);
+	}
+
+	/**
+	 * The node at the root of the tree will be returned.
+	 *
+	 * @return node stored at the root of tree is returned
+	 * @throws NullPointerException if the tree is empty and there is no root node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Node getRoot()
+			throws NullPointerException
+	{
+		if (this.root == null) {
+			throw new NullPointerException("No root node found");
+		}
+		return this.root;
+	}
+
+	/**
+	 * Determines the row height of the tree and returns that value as an integer
+	 * value.
+	 *
+	 * @return the height of the tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int getHeight()
+	{
+		return height(this.root);
+	}
+
+	/**
+	 * The number of keys currently stored in the tree is counted and the value is
+	 * returned.
+	 *
+	 * @return number of keys currently stored in tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int size()
+	{
+		return this.count;
+	}
+
+	/**
+	 * Checks if the tree is currently empty.
+	 *
+	 * @return returns boolean true if the tree is empty otherwise false.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean isEmpty()
+	{
+		return this.root == null;
+	}
+
+	/**
+	 * Clears all keys currently stored in tree and makes the tree empty.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public void clear()
+	{
+		this.root = null;
+		this.count = 0;
+		this.modCount++;
+	}
+
+	/**
+	 * Method used to check if the tree contains the key passed.
+	 *
+	 * @param entry The key to find in the tree
+	 * @return returns True if key is currently in the tree. False if the key is
+	 *         not found in the tree
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean contains( int entry )
+	{
+		return search(entry) != null;
+	}
+
+	/**
+	 * Retrieves a node from the tree given the key to search for.
+	 *
+	 * @param entry key being searched
+	 * @return the node with the key located in tree, null if not found
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Node search( int entry )
+	{
+		Node cursor = this.root;
+		while (cursor != null) {
+			if (entry == cursor.value) return cursor; // Success
+			cursor = (entry < cursor.value) ? cursor.left : cursor.right;
+		}
+		return null;
+	}
+
+	/**
+	 * Adds a new key to the tree.
+	 *
+	 * @param newEntry the key being added to the tree
+	 * @return a boolean true if the key is added successfully else false
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean add( int newEntry )
+	{
+		int before = this.count;
+		this.root = insert(this.root, newEntry);
+		if (this.count == before) return false; // Duplicate found
+		this.modCount++;
+		return true; // Success
+	}
+
+	/**
+	 * Removes the smallest key in the tree.
+	 *
+	 * @return the node of the removed key or null if the tree is empty
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Node removeMin()
+	{
+		if (this.root == null) return null;
+		Node cursor = this.root;
+		while (cursor.left != null) {
+			cursor = cursor.left;
+		}
+		this.root = detachMin(this.root);
+		this.count--;
+		this.modCount++;
+		return cursor;
+	}
+
+	/**
+	 * Removes the largest key in the tree.
+	 *
+	 * @return the node of the removed key or null if the tree is empty.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Node removeMax()
+	{
+		if (this.root == null) return null;
+		Node cursor = this.root;
+		while (cursor.right != null) {
+			cursor = cursor.right;
+		}
+		this.root = detachMax(this.root);
+		this.count--;
+		this.modCount++;
+		return cursor;
+	}
+
+	/**
+	 * Generates an in-order iteration over the keys in increasing order. Keys are
+	 * visited lazily, changing the tree while iterating makes the iterator throw
+	 * ConcurrentModificationException. An empty tree gives an empty iteration.
+	 *
+	 * @return an iterator with the keys in increasing order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public IntIterator inorderIterator()
+	{
+		return new TreeIterator(INORDER);
+	}
+
+	/**
+	 * Generates a pre-order iteration over the keys, the root key comes first.
+	 *
+	 * @return an iterator with the keys in a root key first order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public IntIterator preorderIterator()
+	{
+		return new TreeIterator(PREORDER);
+	}
+
+	/**
+	 * Generates a post-order iteration over the keys, the root key comes last.
+	 *
+	 * @return an iterator with the keys in a root key last order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public IntIterator postorderIterator()
+	{
+		return new TreeIterator(POSTORDER);
+	}
+
+	/**
+	 * Copies the keys into a read-only tree laid out in one int array in
+	 * Eytzinger order, which searches faster than following node references. The
+	 * copy takes O(n) and does not see later changes to this tree.
+	 *
+	 * @return a frozen copy of the tree
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public FrozenIntBSTree freeze()
+	{
+		int[] sorted = new int[this.count];
+		IntIterator it = new TreeIterator(INORDER);
+		for (int i = 0; it.hasNext(); i++) {
+			sorted[i] = it.next();
+		}
+		return new FrozenIntBSTree(sorted);
+	}
+}
@@ -0,0 +1,661 @@
+package implementations;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+
+/**
+ * Lock-free Binary Search Tree that several threads can add to, search and remove from at the same time, based on
+ * the edge-marking design of Natarajan and Mittal.
+ * <p>
+ * Elements are stored in the leaves and internal nodes only route the search. Every child link is an immutable
+ * edge that carries two marks: <i>flag</i>, set on the edge to a leaf that is being removed, and <i>tag</i>, set on
+ * the edge to the sibling of that leaf so nothing can be linked below it. A link is only ever changed with a
+ * compare-and-set from the exact edge a thread read, so a thread that loses a race sees the marks and helps finish
+ * the removal it ran into instead of waiting for it.
+ * </p>
+ * <p>
+ * The tree is not balanced. Since elements only live in leaves, all three iterators return the elements in their
+ * natural order. Iterators walk a copy taken while other threads keep working, so they are weakly consistent.
+ * </p>
+ *
+ * @param <E> The type of elements this list holds.
+ * @author TerrellAW
+ * @version 1.0
+ */
+public class LockFreeBSTree<E extends Comparable<? super E>>
+	implements BSTreeADT<E>
+{
+
+	/**
+	 * Serialize Id
+	 */
+	private static final long serialVersionUID = -6204339541370923170L;
+	/**
+	 * Internal node at the top of the tree, holds the largest sentinel key.
+	 */
+	final Node<E> root;
+	/**
+	 * Left child of root, every element is stored below its left edge.
+	 */
+	final Node<E> sentinel;
+	/**
+	 * Count for amount of elements in <code>LockFreeBSTree</code>.
+	 */
+	final AtomicInteger count = new AtomicInteger();
+
+	/**
+	 * Immutable child link with the marks used to remove a leaf.
+	 *
+	 * @param <E> The type of element the target node holds.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	static final class Edge<E> implements Serializable {
+		/**
+		 * Serialize Id
+		 */
+		private static final long serialVersionUID = -7480021694313004163L;
+		/**
+		 * Node the edge points to.
+		 */
+		final Node<E> node;
+		/**
+		 * Set when the leaf this edge points to is being removed.
+		 */
+		final boolean flag;
+		/**
+		 * Set when this edge must not change because its parent is being removed.
+		 */
+		final boolean tag;
+
+		/**
+		 * Constructs an edge.
+		 *
+		 * @param node node the edge points to.
+		 * @param flag true if the leaf is being removed.
+		 * @param tag true if the edge is frozen.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		Edge(Node<E> node, boolean flag, boolean tag) {
+			this.node = node;
+			this.flag = flag;
+			this.tag = tag;
+		}
+	}
+
+	/**
+	 * Node of the lock-free tree, a leaf when both links are null.
+	 *
+	 * @param <E> The type of element the node holds.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	static final class Node<E> implements Serializable {
+		/**
+		 * Serialize Id
+		 */
+		private static final long serialVersionUID = 3093811245466931367L;
+		/**
+		 * Compare-and-set access to the left link.
+		 */
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<Node, Edge> LEFT =
+				AtomicReferenceFieldUpdater.newUpdater(Node.class, Edge.class, "left");
+		/**
+		 * Compare-and-set access to the right link.
+		 */
+		@SuppressWarnings("rawtypes")
+		static final AtomicReferenceFieldUpdater<Node, Edge> RIGHT =
+				AtomicReferenceFieldUpdater.newUpdater(Node.class, Edge.class, "right");
+		/**
+		 * Value stored in the node, null for sentinels.
+		 */
+		final E value;
+		/**
+		 * Zero for real elements, otherwise the rank of a sentinel that sorts after every element.
+		 */
+		final int infinity;
+		/**
+		 * Unmarked edge to this node, shared by every link that points here unmarked.
+		 */
+		final Edge<E> plain;
+		/**
+		 * Attached child edges, null for leaves.
+		 */
+		volatile Edge<E> left, right;
+
+		/**
+		 * Constructs a node.
+		 *
+		 * @param value element stored in the node, null for sentinels.
+		 * @param infinity zero for real elements, sentinel rank otherwise.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		Node(E value, int infinity) {
+			this.value = value;
+			this.infinity = infinity;
+			this.plain = new Edge<E>(this, false, false);
+		}
+
+		/**
+		 * Constructs an internal node routing between two children.
+		 *
+		 * @param key node whose key this node routes on.
+		 * @param left left child.
+		 * @param right right child.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		Node(Node<E> key, Node<E> left, Node<E> right) {
+			this(key.value, key.infinity);
+			this.left = left.plain;
+			this.right = right.plain;
+		}
+
+		/**
+		 * Checks if the node is a leaf.
+		 *
+		 * @return true if the node has no children.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		boolean isLeaf() {
+			return left == null;
+		}
+	}
+
+	/**
+	 * Nodes found by a seek: the leaf where the key ends up, its parent, and the
+	 * last edge above them that is not tagged, from ancestor to successor.
+	 *
+	 * @param <E> The type of element the nodes hold.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	static final class SeekRecord<E> {
+		/**
+		 * Parent end of the lowest untagged edge on the path.
+		 */
+		Node<E> ancestor;
+		/**
+		 * Child end of the lowest untagged edge on the path.
+		 */
+		Node<E> successor;
+		/**
+		 * Parent of leaf.
+		 */
+		Node<E> parent;
+		/**
+		 * Leaf reached by the seek.
+		 */
+		Node<E> leaf;
+	}
+
+	/**
+	 * Constructs an empty lock-free Binary Search Tree. Three sentinel leaves keep
+	 * the top of the tree fixed so no operation ever replaces the root.
+	 *
+	 * @return Instance of the <code>LockFreeBSTree</code> class.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public LockFreeBSTree() {
+		this.sentinel = new Node<E>(new Node<E>(null, 2), new Node<E>(null, 1), new Node<E>(null, 2));
+		this.root = new Node<E>(new Node<E>(null, 3), sentinel, new Node<E>(null, 3));
+	}
+
+	/**
+	 * Compares an element with the key of a node, sentinels sort after every
+	 * element.
+	 *
+	 * @param entry element to compare.
+	 * @param node node whose key is compared.
+	 * @return negative, zero or positive like compareTo.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int compare(E entry, Node<E> node) {
+		return (node.infinity != 0) ? -1 : entry.compareTo(node.value);
+	}
+
+	/**
+	 * Updater of the link of node that a key descends through.
+	 *
+	 * @param entry element being routed.
+	 * @param node internal node to route through.
+	 * @return the left or right link updater.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("rawtypes")
+	private AtomicReferenceFieldUpdater<Node, Edge> side(E entry, Node<E> node) {
+		return (compare(entry, node) < 0) ? Node.LEFT : Node.RIGHT;
+	}
+
+	/**
+	 * Descends to the leaf where a key is or would be stored, remembering the
+	 * nodes that add and remove need to change.
+	 *
+	 * @param entry element to route.
+	 * @return the nodes found on the path.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private SeekRecord<E> seek(E entry) {
+		SeekRecord<E> record = new SeekRecord<E>();
+		record.ancestor = root;
+		record.successor = sentinel;
+		record.parent = sentinel;
+		Edge<E> parentEdge = sentinel.left;
+		record.leaf = parentEdge.node;
+		Edge<E> currentEdge = (compare(entry, record.leaf) < 0) ? record.leaf.left : record.leaf.right;
+
+		while (currentEdge != null) { // Stops once leaf has no children
+			if (!parentEdge.tag) { // Last edge that is not frozen
+				record.ancestor = record.parent;
+				record.successor = record.leaf;
+			}
+			record.parent = record.leaf;
+			record.leaf = currentEdge.node;
+			parentEdge = currentEdge;
+			currentEdge = (compare(entry, currentEdge.node) < 0) ? currentEdge.node.left : currentEdge.node.right;
+		}
+		return record;
+	}
+
+	/**
+	 * Physically removes a flagged leaf and its parent by swinging the link from
+	 * ancestor to successor over to the sibling of the leaf. Any thread that runs
+	 * into a flagged or tagged edge calls this to finish the removal.
+	 *
+	 * @param entry key of the leaf being removed.
+	 * @param record nodes found by the last seek for entry.
+	 * @return true if this call unlinked the leaf.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private boolean cleanup(E entry, SeekRecord<E> record) {
+		Node<E> ancestor = record.ancestor;
+		Node<E> parent = record.parent;
+		AtomicReferenceFieldUpdater<Node, Edge> successorLink = side(entry, ancestor);
+		AtomicReferenceFieldUpdater<Node, Edge> childLink = side(entry, parent);
+		AtomicReferenceFieldUpdater<Node, Edge> siblingLink = (childLink == Node.LEFT) ? Node.RIGHT : Node.LEFT;
+
+		Edge<E> child = childLink.get(parent);
+		if (!child.flag) {
+			siblingLink = childLink; // The flagged leaf is on the other side, keep this one
+		}
+
+		// Freeze the sibling edge so nothing gets linked below it
+		Edge<E> sibling = siblingLink.get(parent);
+		while (!sibling.tag) {
+			Edge<E> tagged = new Edge<E>(sibling.node, sibling.flag, true);
+			if (siblingLink.compareAndSet(parent, sibling, tagged)) {
+				sibling = tagged;
+			} else {
+				sibling = siblingLink.get(parent);
+			}
+		}
+
+		Edge<E> current = successorLink.get(ancestor);
+		if (current.node != record.successor || current.flag || current.tag) {
+			return false; // Someone else changed the path
+		}
+		Edge<E> promoted = sibling.flag ? new Edge<E>(sibling.node, true, false) : sibling.node.plain;
+		return successorLink.compareAndSet(ancestor, current, promoted);
+	}
+
+	/**
+	 * Removes the leaf holding an element equal to entry.
+	 *
+	 * @param entry element to remove.
+	 * @return true if this call removed the element, false if it was not found.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private boolean delete(E entry) {
+		Node<E> leaf = null;
+		boolean injecting = true; // Until our flag is on the edge to the leaf
+
+		while (true) {
+			SeekRecord<E> record = seek(entry);
+			Node<E> parent = record.parent;
+			AtomicReferenceFieldUpdater<Node, Edge> link = side(entry, parent);
+
+			if (injecting) {
+				leaf = record.leaf;
+				if (compare(entry, leaf) != 0) return false; // Not found
+
+				Edge<E> edge = link.get(parent);
+				if (edge.node == leaf && !edge.flag && !edge.tag
+						&& link.compareAndSet(parent, edge, new Edge<E>(leaf, true, false))) {
+					injecting = false; // Removal is now certain, finish unlinking
+					this.count.decrementAndGet();
+					if (cleanup(entry, record)) return true;
+				} else {
+					edge = link.get(parent);
+					if (edge.node == leaf && (edge.flag || edge.tag)) {
+						cleanup(entry, record); // Help the removal in our way
+					}
+				}
+			} else {
+				if (record.leaf != leaf) return true; // Another thread unlinked it for us
+				if (cleanup(entry, record)) return true;
+			}
+		}
+	}
+
+	/**
+	 * Finds the first leaf holding an element, walking in order from the smallest
+	 * or from the largest side.
+	 *
+	 * @param smallest true to find the smallest element, false for the largest.
+	 * @return leaf of the smallest or largest element, null if the tree is empty.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private Node<E> firstLeaf(boolean smallest) {
+		Deque<Node<E>> stack = new ArrayDeque<Node<E>>();
+		stack.push(sentinel.left.node);
+		while (!stack.isEmpty()) {
+			Node<E> node = stack.pop();
+			Edge<E> left = node.left, right = node.right;
+			if (left == null) {
+				if (node.infinity == 0) return node; // First real leaf
+				continue; // Sentinel leaf
+			}
+			stack.push(smallest ? right.node : left.node);
+			stack.push(smallest ? left.node : right.node);
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the smallest or largest element, retrying when another thread
+	 * removes the same element first.
+	 *
+	 * @param smallest true to remove the smallest element, false for the largest.
+	 * @return a node holding the removed element or null if the tree is empty
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> removeFirst(boolean smallest) {
+		while (true) {
+			Node<E> leaf = firstLeaf(smallest);
+			if (leaf == null) return null; // Empty
+			if (delete(leaf.value)) return new BSTreeNode<E>(leaf.value); // Success
+		}
+	}
+
+	/**
+	 * Copies the elements of the leaves in their natural order.
+	 *
+	 * @return an iterator over the copied elements.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private Iterator<E> snapshot() {
+		ArrayList<E> values = new ArrayList<E>();
+		Deque<Node<E>> stack = new ArrayDeque<Node<E>>();
+		stack.push(sentinel.left.node);
+		while (!stack.isEmpty()) {
+			Node<E> node = stack.pop();
+			Edge<E> left = node.left, right = node.right;
+			if (left == null) {
+				if (node.infinity == 0) values.add(node.value);
+				continue;
+			}
+			stack.push(right.node);
+			stack.push(left.node);
+		}
+		return new ArrayIterator<E>(values.toArray());
+	}
+
+	/**
+	 * A node holding the element of the leaf closest to the top of the tree will be
+	 * returned, internal nodes only route and hold no elements of their own.
+	 *
+	 * @return a node holding the element closest to the root of tree
+	 * @throws NullPointerException if the tree is empty and there is no root node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> getRoot()
+			throws NullPointerException
+	{
+		ArrayDeque<Node<E>> level = new ArrayDeque<Node<E>>();
+		level.add(sentinel.left.node);
+		while (!level.isEmpty()) { // Breadth first, stops at the first real leaf
+			Node<E> node = level.poll();
+			Edge<E> left = node.left, right = node.right;
+			if (left == null) {
+				if (node.infinity == 0) return new BSTreeNode<E>(node.value);
+				continue;
+			}
+			level.add(left.node);
+			level.add(right.node);
+		}
+		throw new NullPointerException("No root node found");
+	}
+
+	/**
+	 * Determines the row height of the tree, counting the internal routing nodes,
+	 * by walking every node.
+	 *
+	 * @return the height of the tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int getHeight()
+	{
+		if (isEmpty()) return 0;
+
+		int height = 0;
+		ArrayDeque<Node<E>> level = new ArrayDeque<Node<E>>();
+		level.add(sentinel.left.node);
+		while (!level.isEmpty()) { // One pass per row
+			height++;
+			for (int i = level.size(); i > 0; i--) {
+				Node<E> node = level.poll();
+				Edge<E> left = node.left, right = node.right;
+				if (left != null) {
+					level.add(left.node);
+					level.add(right.node);
+				}
+			}
+		}
+		return height;
+	}
+
+	/**
+	 * The number of elements currently stored in the tree is counted and the value
+	 * is returned.
+	 *
+	 * @return number of elements currently stored in tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int size()
+	{
+		return this.count.get();
+	}
+
+	/**
+	 * Checks if the tree is currently empty.
+	 *
+	 * @return returns boolean true if the tree is empty otherwise false.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean isEmpty()
+	{
+		return this.count.get() == 0;
+	}
+
+	/**
+	 * Clears all elements currently stored in tree by removing them one at a time,
+	 * so it is safe to run alongside other operations.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public void clear()
+	{
+		while (removeFirst(true) != null) {
+			// Keep removing until empty
+		}
+	}
+
+	/**
+	 * Method used to check if the tree contains the value passed.
+	 *
+	 * @param entry The element to find in the tree
+	 * @return returns True if element is currently in the tree. False if
+	 *         the element is not found in the tree
+	 * @throws NullPointerException if the element being passed in is null.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean contains( E entry )
+			throws NullPointerException
+	{
+		if (entry == null) throw new NullPointerException("Cannot search for null values!");
+		return compare(entry, seek(entry).leaf) == 0;
+	}
+
+	/**
+	 * Retrieves a node holding the element equal to the object to search for.
+	 *
+	 * @param entry element object being searched
+	 * @return a node with the element located in tree, null if not found
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> search( E entry )
+			throws NullPointerException
+	{
+		if (entry == null) throw new NullPointerException("Cannot search for null values!");
+		Node<E> leaf = seek(entry).leaf;
+		return (compare(entry, leaf) == 0) ? new BSTreeNode<E>(leaf.value) : null;
+	}
+
+	/**
+	 * Adds a new element to the tree according to the natural ordering established
+	 * by the Comparable implementation. Safe to call from several threads at once.
+	 *
+	 * @param newEntry the element being added to the tree
+	 * @return a boolean true if the element is added successfully else false
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public boolean add( E newEntry )
+			throws NullPointerException
+	{
+		if (newEntry == null)
+			throw new NullPointerException("Cannot add null to tree");
+
+		Node<E> created = new Node<E>(newEntry, 0);
+		while (true) {
+			SeekRecord<E> record = seek(newEntry);
+			Node<E> leaf = record.leaf;
+			if (compare(newEntry, leaf) == 0) return false; // Duplicate found
+
+			Node<E> parent = record.parent;
+			AtomicReferenceFieldUpdater<Node, Edge> link = side(newEntry, parent);
+			Edge<E> edge = link.get(parent);
+			if (edge.node == leaf && !edge.flag && !edge.tag) {
+				// New internal node routes on the larger key, smaller key goes left
+				Node<E> internal = (compare(newEntry, leaf) < 0)
+						? new Node<E>(leaf, created, leaf)
+						: new Node<E>(created, leaf, created);
+				if (link.compareAndSet(parent, edge, internal.plain)) {
+					this.count.incrementAndGet();
+					return true; // Success
+				}
+				edge = link.get(parent);
+			}
+			if (edge.node == leaf && (edge.flag || edge.tag)) {
+				cleanup(newEntry, record); // Help the removal in our way, then retry
+			}
+		}
+	}
+
+	/**
+	 * Removes the smallest element in the tree. With other threads adding at the
+	 * same time, the element removed was the smallest when its leaf was found.
+	 *
+	 * @return a node holding the removed element or null if the tree is empty
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> removeMin()
+	{
+		return removeFirst(true);
+	}
+
+	/**
+	 * Removes the largest element in the tree. With other threads adding at the
+	 * same time, the element removed was the largest when its leaf was found.
+	 *
+	 * @return a node holding the removed element or null if the tree is empty.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> removeMax()
+	{
+		return removeFirst(false);
+	}
+
+	/**
+	 * Generates an in-order iteration over a copy of the elements. Elements are in
+	 * their natural order.
+	 *
+	 * @return an iterator with the elements in the natural order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> inorderIterator()
+	{
+		return snapshot();
+	}
+
+	/**
+	 * Generates a pre-order iteration over a copy of the elements. Elements are
+	 * only stored in leaves, which every traversal meets in their natural order.
+	 *
+	 * @return an iterator with the elements in the natural order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> preorderIterator()
+	{
+		return snapshot();
+	}
+
+	/**
+	 * Generates a post-order iteration over a copy of the elements. Elements are
+	 * only stored in leaves, which every traversal meets in their natural order.
+	 *
+	 * @return an iterator with the elements in the natural order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> postorderIterator()
+	{
+		return snapshot();
+	}
+}
@@ -0,0 +1,922 @@
+package implementations;
+
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import utilities.BSTreeADT;
+import utilities.BinaryCodec;
+import utilities.Iterator;
+
+/**
+ * Binary Search Tree that keeps its nodes and elements outside the Java heap, so a large tree adds nothing for the
+ * garbage collector to trace. Nodes are fixed size records in one direct buffer and elements are stored as bytes,
+ * written by a <code>BinaryCodec</code>, in a second one. The tree is always kept balanced with AVL rotations.
+ * <p>
+ * Bytes of removed elements are reclaimed by compacting the element buffer once they take up half of it. close()
+ * frees both buffers straight away instead of waiting for the garbage collector, the tree cannot be used after.
+ * Nodes returned by getRoot, search, removeMin and removeMax are new <code>BSTreeNode</code> objects holding a decoded
+ * copy of the element. Each buffer holds at most 2 GB.
+ * </p>
+ *
+ * @param <E> The type of elements this list holds.
+ * @author TerrellAW
+ * @version 1.0
+ */
+public class OffHeapBSTree<E extends Comparable<? super E>>
+	implements BSTreeADT<E>, AutoCloseable
+{
+
+	/**
+	 * Serialize Id
+	 */
+	private static final long serialVersionUID = -1090233784206339848L;
+	/**
+	 * Byte offsets of the fields of a node record.
+	 */
+	private static final int LEFT = 0, RIGHT = 4, HEIGHT = 8, KEY = 12, LENGTH = 16;
+	/**
+	 * Size of a node record in bytes.
+	 */
+	private static final int RECORD = 20;
+	/**
+	 * Number of node records and element bytes allocated by an empty tree.
+	 */
+	private static final int INITIAL_NODES = 64, INITIAL_BYTES = 1024;
+	/**
+	 * Iteration orders understood by <code>TreeIterator</code>.
+	 */
+	private static final int PREORDER = 0, INORDER = 1, POSTORDER = 2;
+	/**
+	 * Converts elements to and from the bytes in keys.
+	 */
+	final BinaryCodec<E> codec;
+	/**
+	 * Node records, record 0 stands for no node and is never used.
+	 */
+	ByteBuffer nodes;
+	/**
+	 * Encoded elements, one after the other.
+	 */
+	ByteBuffer keys;
+	/**
+	 * View of keys limited to one element, handed to the codec.
+	 */
+	ByteBuffer keyView;
+	/**
+	 * Index of the root node, 0 when empty.
+	 */
+	int root;
+	/**
+	 * Count for amount of elements in <code>OffHeapBSTree</code>.
+	 */
+	int count;
+	/**
+	 * First node record that has never been used.
+	 */
+	int next;
+	/**
+	 * First node record of the free list, 0 when empty. Free records are chained
+	 * through their left field.
+	 */
+	int free;
+	/**
+	 * First byte of keys that has never been used.
+	 */
+	int keyEnd;
+	/**
+	 * Bytes in keys that belong to removed elements.
+	 */
+	int keyGarbage;
+	/**
+	 * Number of structural changes, lets iterators detect changes made while they run.
+	 */
+	transient int modCount;
+
+	/**
+	 * Lazy iterator over the elements, keeps only the path to the next node in an
+	 * index array sized by the height of the tree.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private final class TreeIterator implements Iterator<E> {
+		/**
+		 * Nodes whose element or subtrees are still pending, top at depth - 1.
+		 */
+		private final int[] stack;
+		/**
+		 * Number of nodes on the stack.
+		 */
+		private int depth;
+		/**
+		 * One of PREORDER, INORDER or POSTORDER.
+		 */
+		private final int order;
+		/**
+		 * Modification count of the tree when the iterator was created.
+		 */
+		private final int expectedModCount;
+
+		/**
+		 * Constructs an iterator positioned before the first element.
+		 *
+		 * @param order one of PREORDER, INORDER or POSTORDER.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		TreeIterator(int order) {
+			this.stack = new int[height(root) + 1];
+			this.order = order;
+			this.expectedModCount = modCount;
+			if (order == PREORDER) {
+				if (root != 0) stack[depth++] = root;
+			} else if (order == INORDER) {
+				pushLeft(root);
+			} else {
+				pushFirst(root);
+			}
+		}
+
+		/**
+		 * Pushes a node and all of its left descendants.
+		 *
+		 * @param node root of the subtree, may be 0.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		private void pushLeft(int node) {
+			while (node != 0) {
+				stack[depth++] = node;
+				node = left(node);
+			}
+		}
+
+		/**
+		 * Pushes the path down to the first node of a subtree in post-order.
+		 *
+		 * @param node root of the subtree, may be 0.
+		 * @author TerrellAW
+		 * @version 1.0
+		 */
+		private void pushFirst(int node) {
+			while (node != 0) {
+				stack[depth++] = node;
+				node = (left(node) != 0) ? left(node) : right(node);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return depth > 0;
+		}
+
+		@Override
+		public E next() throws NoSuchElementException {
+			if (modCount != expectedModCount) throw new ConcurrentModificationException("Tree was modified.");
+			if (depth == 0) throw new NoSuchElementException("No more elements.");
+			int node = stack[--depth];
+			if (order == PREORDER) {
+				if (right(node) != 0) stack[depth++] = right(node);
+				if (left(node) != 0) stack[depth++] = left(node);
+			} else if (order == INORDER) {
+				pushLeft(right(node));
+			} else if (depth > 0 && left(stack[depth - 1]) == node) {
+				pushFirst(right(stack[depth - 1])); // Back from a left child, right subtree is next
+			}
+			return decode(node);
+		}
+	}
+
+	/**
+	 * Constructs an empty off-heap Binary Search Tree.
+	 *
+	 * @param codec converts elements to and from bytes.
+	 * @return Instance of the <code>OffHeapBSTree</code> class.
+	 * @throws NullPointerException if codec is null.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public OffHeapBSTree( BinaryCodec<E> codec ) {
+		if (codec == null) throw new NullPointerException("Codec cannot be null");
+		this.codec = codec;
+		reset();
+	}
+
+	/**
+	 * Replaces the buffers with empty ones of the initial capacity.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void reset() {
+		this.nodes = ByteBuffer.allocateDirect(INITIAL_NODES * RECORD);
+		this.keys = ByteBuffer.allocateDirect(INITIAL_BYTES);
+		this.keyView = keys.duplicate();
+		this.root = 0;
+		this.count = 0;
+		this.next = 1; // Record 0 stands for no node
+		this.free = 0;
+		this.keyEnd = 0;
+		this.keyGarbage = 0;
+	}
+
+	/**
+	 * Frees the memory of a direct buffer straight away. Uses the cleaner of the
+	 * running JDK if it can be reached, otherwise the garbage collector frees it
+	 * later.
+	 *
+	 * @param buffer direct buffer that is no longer used.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static void freeBuffer(ByteBuffer buffer) {
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			try { // Java 9 and later
+				Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+				Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+				theUnsafe.setAccessible(true);
+				invokeCleaner.invoke(theUnsafe.get(null), buffer);
+			} catch (NoSuchMethodException e) { // Java 8
+				Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				Object cleaner = cleanerMethod.invoke(buffer);
+				if (cleaner != null) cleaner.getClass().getMethod("clean").invoke(cleaner);
+			}
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// Cleaner not reachable, the garbage collector frees the buffer
+		}
+	}
+
+	/**
+	 * Checks that the tree has not been closed.
+	 *
+	 * @throws IllegalStateException if the tree was closed.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void ensureOpen() {
+		if (this.nodes == null) throw new IllegalStateException("Tree is closed");
+	}
+
+	/**
+	 * Reads a field of a node record.
+	 *
+	 * @param node index of the node.
+	 * @param field byte offset of the field.
+	 * @return value of the field.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int get(int node, int field) {
+		return nodes.getInt(node * RECORD + field);
+	}
+
+	/**
+	 * Writes a field of a node record.
+	 *
+	 * @param node index of the node.
+	 * @param field byte offset of the field.
+	 * @param value new value of the field.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void set(int node, int field, int value) {
+		nodes.putInt(node * RECORD + field, value);
+	}
+
+	/**
+	 * Left child of a node.
+	 *
+	 * @param node index of the node.
+	 * @return index of the left child, 0 if none.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int left(int node) {
+		return get(node, LEFT);
+	}
+
+	/**
+	 * Right child of a node.
+	 *
+	 * @param node index of the node.
+	 * @return index of the right child, 0 if none.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int right(int node) {
+		return get(node, RIGHT);
+	}
+
+	/**
+	 * Height of a node, no node has a height of zero.
+	 *
+	 * @param node index of the node, may be 0.
+	 * @return height of the node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int height(int node) {
+		return get(node, HEIGHT); // Record 0 always has a height of zero
+	}
+
+	/**
+	 * Limits keyView to the encoded element of a node.
+	 *
+	 * @param node index of the node.
+	 * @return keyView positioned on the element.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private ByteBuffer view(int node) {
+		int offset = get(node, KEY);
+		keyView.limit(offset + get(node, LENGTH)).position(offset);
+		return keyView;
+	}
+
+	/**
+	 * Decodes the element of a node.
+	 *
+	 * @param node index of the node.
+	 * @return a copy of the element.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private E decode(int node) {
+		return codec.decode(view(node));
+	}
+
+	/**
+	 * Compares an element with the element of a node.
+	 *
+	 * @param entry element to compare.
+	 * @param node index of the node.
+	 * @return negative, zero or positive like compareTo.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int compare(E entry, int node) {
+		return codec.compare(entry, view(node));
+	}
+
+	/**
+	 * Copies a buffer into a new direct buffer of the given capacity and frees
+	 * the old one.
+	 *
+	 * @param buffer buffer to copy.
+	 * @param used number of bytes at the start of buffer to keep.
+	 * @param capacity capacity of the new buffer.
+	 * @return the new buffer.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static ByteBuffer grow(ByteBuffer buffer, int used, int capacity) {
+		ByteBuffer source = buffer.duplicate();
+		source.limit(used).position(0);
+		ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+		grown.put(source);
+		freeBuffer(buffer);
+		return grown;
+	}
+
+	/**
+	 * Next capacity for a buffer that is out of room, half again as large but
+	 * never more than a buffer can hold.
+	 *
+	 * @param capacity current capacity.
+	 * @param needed smallest capacity that fits.
+	 * @return the new capacity.
+	 * @throws IllegalStateException if needed is more than a buffer can hold.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private static int nextCapacity(int capacity, long needed) {
+		if (needed > Integer.MAX_VALUE) throw new IllegalStateException("Off-heap tree is full");
+		long grown = Math.min(Integer.MAX_VALUE, capacity + (long) (capacity >> 1));
+		return (int) Math.max(grown, needed);
+	}
+
+	/**
+	 * Stores an encoded element, compacting or growing the element buffer if it
+	 * is out of room.
+	 *
+	 * @param value element to store.
+	 * @param length encoded length of value.
+	 * @return offset of the encoded element in keys.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int store(E value, int length) {
+		if ((long) keyEnd + length > keys.capacity()) {
+			if (keyGarbage >= keys.capacity() / 2) {
+				compact();
+			}
+			if ((long) keyEnd + length > keys.capacity()) {
+				keys = grow(keys, keyEnd, nextCapacity(keys.capacity(), (long) keyEnd + length));
+				keyView = keys.duplicate();
+			}
+		}
+		int offset = keyEnd;
+		keys.limit(offset + length).position(offset);
+		codec.encode(value, keys);
+		if (keys.position() != offset + length)
+			throw new IllegalStateException("Codec wrote a different length than it reported");
+		keys.clear();
+		keyEnd += length;
+		return offset;
+	}
+
+	/**
+	 * Copies the elements of every node into a new element buffer so the bytes of
+	 * removed elements are reclaimed.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void compact() {
+		ByteBuffer compacted = ByteBuffer.allocateDirect(keys.capacity());
+		ByteBuffer source = keys.duplicate();
+		for (int node = 1; node < next; node++) {
+			if (height(node) == 0) continue; // On the free list
+			int offset = get(node, KEY);
+			source.limit(offset + get(node, LENGTH)).position(offset);
+			set(node, KEY, compacted.position());
+			compacted.put(source);
+		}
+		keyEnd = compacted.position();
+		keyGarbage = 0;
+		compacted.clear();
+		freeBuffer(keys);
+		keys = compacted;
+		keyView = keys.duplicate();
+	}
+
+	/**
+	 * Takes a record from the free list, or the next unused record, growing the
+	 * node buffer when it is full, and stores the element.
+	 *
+	 * @param value element stored in the new node.
+	 * @return index of the new node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int allocate(E value) {
+		int length = codec.encodedLength(value);
+		int offset = store(value, length);
+		int node = this.free;
+		if (node != 0) {
+			this.free = left(node); // Pop the free list
+		} else {
+			if ((long) (next + 1) * RECORD > nodes.capacity()) {
+				nodes = grow(nodes, next * RECORD, nextCapacity(nodes.capacity(), (long) (next + 1) * RECORD));
+			}
+			node = this.next++;
+		}
+		set(node, LEFT, 0);
+		set(node, RIGHT, 0);
+		set(node, HEIGHT, 1);
+		set(node, KEY, offset);
+		set(node, LENGTH, length);
+		return node;
+	}
+
+	/**
+	 * Puts a record on the free list and counts its element bytes as garbage.
+	 *
+	 * @param node index of the removed node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void release(int node) {
+		keyGarbage += get(node, LENGTH);
+		set(node, HEIGHT, 0); // Marks the record as free for compact
+		set(node, LEFT, this.free);
+		this.free = node;
+	}
+
+	/**
+	 * Recalculates the height of a single node from its children.
+	 *
+	 * @param node node whose children already hold correct heights.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void updateNode(int node) {
+		set(node, HEIGHT, 1 + Math.max(height(left(node)), height(right(node))));
+	}
+
+	/**
+	 * Rotates a subtree to the right, promoting the left child.
+	 *
+	 * @param node root of the subtree, must have a left child.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int rotateRight(int node) {
+		int pivot = left(node);
+		set(node, LEFT, right(pivot));
+		set(pivot, RIGHT, node);
+		updateNode(node); // Demoted node first, pivot depends on it
+		updateNode(pivot);
+		return pivot;
+	}
+
+	/**
+	 * Rotates a subtree to the left, promoting the right child.
+	 *
+	 * @param node root of the subtree, must have a right child.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int rotateLeft(int node) {
+		int pivot = right(node);
+		set(node, RIGHT, left(pivot));
+		set(pivot, LEFT, node);
+		updateNode(node); // Demoted node first, pivot depends on it
+		updateNode(pivot);
+		return pivot;
+	}
+
+	/**
+	 * Recalculates the height of a node whose children are already up to date and
+	 * restores the AVL property with rotations.
+	 *
+	 * @param node root of the subtree to fix.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int rebalance(int node) {
+		updateNode(node);
+		int balance = height(left(node)) - height(right(node));
+
+		if (balance > 1) { // Left heavy
+			int child = left(node);
+			if (height(left(child)) < height(right(child)))
+				set(node, LEFT, rotateLeft(child)); // Left-right case
+			return rotateRight(node);
+		}
+		if (balance < -1) { // Right heavy
+			int child = right(node);
+			if (height(right(child)) < height(left(child)))
+				set(node, RIGHT, rotateRight(child)); // Right-left case
+			return rotateLeft(node);
+		}
+		return node; // Already balanced
+	}
+
+	/**
+	 * Recursively adds an element and fixes the path back to the root.
+	 *
+	 * @param node root of the subtree, may be 0.
+	 * @param newEntry the element being added.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int insert(int node, E newEntry) {
+		if (node == 0) {
+			this.count++;
+			return allocate(newEntry); // Success
+		}
+
+		int comparison = compare(newEntry, node);
+		if (comparison < 0) {
+			int child = insert(left(node), newEntry);
+			set(node, LEFT, child);
+		} else if (comparison > 0) {
+			int child = insert(right(node), newEntry);
+			set(node, RIGHT, child);
+		} else {
+			return node; // Duplicate found, nothing changed below
+		}
+		return rebalance(node);
+	}
+
+	/**
+	 * Recursively unlinks the smallest node of a subtree and fixes the path.
+	 *
+	 * @param node root of the subtree, must not be 0.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int detachMin(int node) {
+		if (left(node) == 0) return right(node); // Minimum found
+		set(node, LEFT, detachMin(left(node)));
+		return rebalance(node);
+	}
+
+	/**
+	 * Recursively unlinks the largest node of a subtree and fixes the path.
+	 *
+	 * @param node root of the subtree, must not be 0.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int detachMax(int node) {
+		if (right(node) == 0) return left(node); // Maximum found
+		set(node, RIGHT, detachMax(right(node)));
+		return rebalance(node);
+	}
+
+	/**
+	 * Finds the node holding an element.
+	 *
+	 * @param entry element to find.
+	 * @return index of the node, 0 if not found.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int find(E entry) {
+		int cursor = this.root;
+		while (cursor != 0) {
+			int comparison = compare(entry, cursor);
+			if (comparison == 0) return cursor; // Success
+			cursor = (comparison < 0) ? left(cursor) : right(cursor);
+		}
+		return 0;
+	}
+
+	/**
+	 * Frees the off-heap memory of the tree straight away. Every later call other
+	 * than close throws IllegalStateException.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@Override
+	public void close()
+	{
+		if (this.nodes == null) return; // Already closed
+		freeBuffer(this.nodes);
+		freeBuffer(this.keys);
+		this.nodes = null;
+		this.keys = null;
+		this.keyView = null;
+		this.root = 0;
+		this.count = 0;
+		this.modCount++;
+	}
+
+	/**
+	 * Off-heap memory is not written by serialization, so the tree refuses to be
+	 * serialized.
+	 *
+	 * @param out stream the tree would be written to.
+	 * @throws NotSerializableException always.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private void writeObject(ObjectOutputStream out)
+			throws IOException
+	{
+		throw new NotSerializableException("OffHeapBSTree keeps its elements outside the heap");
+	}
+
+	/**
+	 * A node holding a copy of the element at the root of the tree will be
+	 * returned.
+	 *
+	 * @return a node holding the element at the root of tree
+	 * @throws NullPointerException if the tree is empty and there is no root node.
+	 * @throws IllegalStateException if the tree was closed.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> getRoot()
+			throws NullPointerException
+	{
+		ensureOpen();
+		if (this.root == 0) {
+			throw new NullPointerException("No root node found");
+		}
+		return new BSTreeNode<E>(decode(root));
+	}
+
+	/**
+	 * Determines the row height of the tree and returns that value as an integer
+	 * value.
+	 *
+	 * @return the height of the tree.
+	 * @throws IllegalStateException if the tree was closed.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int getHeight()
+	{
+		ensureOpen();
+		return height(this.root);
+	}
+
+	/**
+	 * The number of elements currently stored in the tree is counted and the value
+	 * is returned.
+	 *
+	 * @return number of elements currently stored in tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int size()
+	{
+		return this.count;
+	}
+
+	/**
+	 * Checks if the tree is currently empty.
+	 *
+	 * @return returns boolean true if the tree is empty otherwise false.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean isEmpty()
+	{
+		return this.count == 0;
+	}
+
+	/**
+	 * Clears all elements currently stored in tree and makes the tree empty. The
+	 * buffers are freed and go back to their initial capacity.
+	 *
+	 * @throws IllegalStateException if the tree was closed.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public void clear()
+	{
+		ensureOpen();
+		freeBuffer(this.nodes);
+		freeBuffer(this.keys);
+		reset();
+		this.modCount++;
+	}
+
+	/**
+	 * Method used to check if the tree contains the value passed.
+	 *
+	 * @param entry The element to find in the tree
+	 * @return returns True if element is currently in the tree. False if
+	 *         the element is not found in the tree
+	 * @throws NullPointerException if the element being passed in is null.
+	 * @throws IllegalStateException if the tree was closed.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean contains( E entry )
+			throws NullPointerException
+	{
+		if (entry == null) throw new NullPointerException("Cannot search for null values!");
+		ensureOpen();
+		return find(entry) != 0;
+	}
+
+	/**
+	 * Retrieves a node holding a copy of the element equal to the object to search
+	 * for.
+	 *
+	 * @param entry element object being searched
+	 * @return a node with the element located in tree, null if not found
+	 * @throws NullPointerException if the element being passed in is null
+	 * @throws IllegalStateException if the tree was closed.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> search( E entry )
+			throws NullPointerException
+	{
+		if (entry == null) throw new NullPointerException("Cannot search for null values!");
+		ensureOpen();
+		int node = find(entry);
+		return (node != 0) ? new BSTreeNode<E>(decode(node)) : null;
+	}
+
+	/**
+	 * Adds a new element to the tree according to the natural ordering established
+	 * by the Comparable implementation.
+	 *
+	 * @param newEntry the element being added to the tree
+	 * @return a boolean true if the element is added successfully else false
+	 * @throws NullPointerException if the element being passed in is null
+	 * @throws IllegalStateException if the tree was closed.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean add( E newEntry )
+			throws NullPointerException
+	{
+		if (newEntry == null)
+			throw new NullPointerException("Cannot add null to tree");
+		ensureOpen();
+
+		int before = this.count;
+		this.root = insert(this.root, newEntry);
+		if (this.count == before) return false; // Duplicate found
+		this.modCount++;
+		return true; // Success
+	}
+
+	/**
+	 * Removes the smallest element in the tree.
+	 *
+	 * @return a node holding the removed element or null if the tree is empty
+	 * @throws IllegalStateException if the tree was closed.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> removeMin()
+	{
+		ensureOpen();
+		if (this.root == 0) return null;
+		int cursor = this.root;
+		while (left(cursor) != 0) {
+			cursor = left(cursor);
+		}
+		BSTreeNode<E> removed = new BSTreeNode<E>(decode(cursor));
+		this.root = detachMin(this.root);
+		release(cursor);
+		this.count--;
+		this.modCount++;
+		return removed;
+	}
+
+	/**
+	 * Removes the largest element in the tree.
+	 *
+	 * @return a node holding the removed element or null if the tree is empty.
+	 * @throws IllegalStateException if the tree was closed.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> removeMax()
+	{
+		ensureOpen();
+		if (this.root == 0) return null;
+		int cursor = this.root;
+		while (right(cursor) != 0) {
+			cursor = right(cursor);
+		}
+		BSTreeNode<E> removed = new BSTreeNode<E>(decode(cursor));
+		this.root = detachMax(this.root);
+		release(cursor);
+		this.count--;
+		this.modCount++;
+		return removed;
+	}
+
+	/**
+	 * Generates an in-order iteration over the contents of the tree. Elements are
+	 * decoded lazily in their natural order, changing or closing the tree while
+	 * iterating makes the iterator throw ConcurrentModificationException. An empty
+	 * tree gives an empty iteration.
+	 *
+	 * @return an iterator with the elements in the natural order
+	 * @throws IllegalStateException if the tree was closed.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> inorderIterator()
+	{
+		ensureOpen();
+		return new TreeIterator(INORDER);
+	}
+
+	/**
+	 * Generates a pre-order iteration over the contents of the tree. Elements are
+	 * order in such a way as the root element is first.
+	 *
+	 * @return an iterator with the elements in a root element first order
+	 * @throws IllegalStateException if the tree was closed.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> preorderIterator()
+	{
+		ensureOpen();
+		return new TreeIterator(PREORDER);
+	}
+
+	/**
+	 * Generates a post-order iteration over the contents of the tree. Elements are
+	 * order in such a way as the root element is last.
+	 *
+	 * @return an iterator with the elements in a root element last order
+	 * @throws IllegalStateException if the tree was closed.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> postorderIterator()
+	{
+		ensureOpen();
+		return new TreeIterator(POSTORDER);
+	}
+}
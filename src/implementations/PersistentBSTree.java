@@ -0,0 +1,525 @@
+package implementations;
+
+import java.util.Arrays;
+
+import utilities.BSTreeADT;
+import utilities.Iterator;
+
+/**
+ * Persistent Binary Search Tree. Nodes are never changed once the tree points at them: add, removeMin and removeMax
+ * copy only the nodes on the path they change and share every other subtree with the previous version. A version is
+ * just a root node, so snapshot() is O(1) and readers can iterate a snapshot without locks while writers keep going.
+ * Old versions are garbage collected once nothing refers to them.
+ * <p>
+ * Writers are serialized on the tree object, readers never block. The tree is
+ * balanced in AVL mode unless a mode is given, so each change copies O(log n)
+ * nodes.
+ * </p>
+ *
+ * @param <E> The type of elements this list holds.
+ * @author TerrellAW
+ * @version 1.0
+ */
+public class PersistentBSTree<E extends Comparable<? super E>>
+	implements BSTreeADT<E>
+{
+
+	/**
+	 * Serialize Id
+	 */
+	private static final long serialVersionUID = 2718624107720412399L;
+	/**
+	 * Root node of the current version, null when empty. Nodes reachable from it
+	 * are never changed.
+	 */
+	volatile BSTreeNode<E> root;
+	/**
+	 * Balancing strategy applied on add and remove.
+	 */
+	final BSTree.BalanceMode mode;
+	/**
+	 * Nodes visited by the last descent, reused by writers, which are serialized
+	 * on the tree, so paths are copied without recursing once per level.
+	 */
+	private transient BSTreeNode<E>[] path;
+
+	/**
+	 * Constructs an empty persistent Binary Search Tree in AVL mode.
+	 *
+	 * @return Instance of the <code>PersistentBSTree</code> class.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public PersistentBSTree() {
+		this(BSTree.BalanceMode.AVL);
+	}
+
+	/**
+	 * Constructs an empty persistent Binary Search Tree using the given balancing
+	 * strategy.
+	 *
+	 * @param mode balancing strategy applied on add and remove.
+	 * @return Instance of the <code>PersistentBSTree</code> class.
+	 * @throws NullPointerException if mode is null.
+	 * @throws IllegalArgumentException if mode is SPLAY or SCAPEGOAT, searching
+	 *         must not change a shared version and rebuilds are not supported.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public PersistentBSTree( BSTree.BalanceMode mode ) {
+		this(mode, null);
+		if (mode == BSTree.BalanceMode.SPLAY || mode == BSTree.BalanceMode.SCAPEGOAT)
+			throw new IllegalArgumentException("Balance mode " + mode + " is not supported");
+	}
+
+	/**
+	 * Constructs a tree that starts from an existing version.
+	 *
+	 * @param mode balancing strategy applied on add and remove.
+	 * @param root root node of the version, shared with its owner.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private PersistentBSTree(BSTree.BalanceMode mode, BSTreeNode<E> root) {
+		if (mode == null) throw new NullPointerException("Balance mode cannot be null");
+		this.mode = mode;
+		this.root = root;
+	}
+
+	/**
+	 * Returns the balancing strategy used by the tree.
+	 *
+	 * @return balancing strategy applied on add and remove.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTree.BalanceMode getBalanceMode()
+	{
+		return this.mode;
+	}
+
+	/**
+	 * Returns the current version of the tree in O(1). The snapshot shares every
+	 * node with this tree and never sees later changes to it. Changing the snapshot
+	 * does not change this tree either.
+	 *
+	 * @return a tree holding the elements currently in this tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public PersistentBSTree<E> snapshot()
+	{
+		return new PersistentBSTree<E>(this.mode, this.root);
+	}
+
+	/**
+	 * Height of a node, empty subtrees have a height of zero.
+	 *
+	 * @param node node to measure, may be null.
+	 * @return height of the node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int height(BSTreeNode<E> node) {
+		return (node != null) ? node.height : 0;
+	}
+
+	/**
+	 * Number of nodes in a subtree, empty subtrees have a size of zero.
+	 *
+	 * @param node node to measure, may be null.
+	 * @return size of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private int size(BSTreeNode<E> node) {
+		return (node != null) ? node.size : 0;
+	}
+
+	/**
+	 * Builds a new node with the given children and calculates its height and size.
+	 *
+	 * @param value element stored in the node.
+	 * @param left left child, may be null.
+	 * @param right right child, may be null.
+	 * @return the new node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> link(E value, BSTreeNode<E> left, BSTreeNode<E> right) {
+		BSTreeNode<E> node = new BSTreeNode<E>(value);
+		node.left = left;
+		node.right = right;
+		node.height = 1 + Math.max(height(left), height(right));
+		node.size = 1 + size(left) + size(right);
+		return node;
+	}
+
+	/**
+	 * Rotates a subtree to the right, promoting the left child. Both nodes that
+	 * move are new, the subtree passed in is left as it was.
+	 *
+	 * @param node root of the subtree, must have a left child.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> rotateRight(BSTreeNode<E> node) {
+		BSTreeNode<E> pivot = node.left;
+		return link(pivot.value, pivot.left, link(node.value, pivot.right, node.right));
+	}
+
+	/**
+	 * Rotates a subtree to the left, promoting the right child. Both nodes that
+	 * move are new, the subtree passed in is left as it was.
+	 *
+	 * @param node root of the subtree, must have a right child.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> rotateLeft(BSTreeNode<E> node) {
+		BSTreeNode<E> pivot = node.right;
+		return link(pivot.value, link(node.value, node.left, pivot.left), pivot.right);
+	}
+
+	/**
+	 * Builds the new copy of a node on a changed path and, in AVL mode, restores
+	 * the AVL property with rotations.
+	 *
+	 * @param value element stored in the node.
+	 * @param left new left child, may be null.
+	 * @param right new right child, may be null.
+	 * @return new root of the subtree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> rebuild(E value, BSTreeNode<E> left, BSTreeNode<E> right) {
+		BSTreeNode<E> node = link(value, left, right);
+		if (this.mode != BSTree.BalanceMode.AVL) return node; // Plain trees only track height and size
+
+		int balance = height(left) - height(right);
+
+		if (balance > 1) { // Left heavy
+			if (height(left.left) < height(left.right))
+				node = link(value, rotateLeft(left), right); // Left-right case
+			return rotateRight(node);
+		}
+		if (balance < -1) { // Right heavy
+			if (height(right.right) < height(right.left))
+				node = link(value, left, rotateRight(right)); // Right-left case
+			return rotateLeft(node);
+		}
+		return node; // Already balanced
+	}
+
+	/**
+	 * Returns the path array, growing it to hold at least the given number of nodes.
+	 *
+	 * @param length number of nodes the path must hold.
+	 * @return the path array.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@SuppressWarnings("unchecked")
+	private BSTreeNode<E>[] path(int length) {
+		if (path == null || path.length < length) {
+			path = (BSTreeNode<E>[]) new BSTreeNode<?>[Math.max(length, (path == null) ? 16 : 2 * path.length)];
+		}
+		return path;
+	}
+
+	/**
+	 * Copies the nodes on a path from the deepest one up, each copy taking the new
+	 * subtree built below it in place of the child the path went through.
+	 *
+	 * @param path nodes from the root down.
+	 * @param depth number of nodes on the path.
+	 * @param child new subtree replacing the child of the deepest node.
+	 * @param left true if the child replaced is the left child of the deepest node.
+	 * @return root of the new version.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> copyPath(BSTreeNode<E>[] path, int depth, BSTreeNode<E> child, boolean left) {
+		for (int i = depth - 1; i >= 0; i--) {
+			BSTreeNode<E> node = path[i];
+			child = left ? rebuild(node.value, child, node.right) : rebuild(node.value, node.left, child);
+			if (i > 0) left = (path[i - 1].left == node);
+			path[i] = null; // Do not keep old versions reachable
+		}
+		return child;
+	}
+
+	/**
+	 * Adds an element, copying the nodes on its path.
+	 *
+	 * @param newEntry the element being added.
+	 * @return root of the new version, the current root if the element is a duplicate.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> insert(E newEntry) {
+		BSTreeNode<E>[] path = path(height(this.root));
+		int depth = 0;
+		BSTreeNode<E> cursor = this.root;
+		int comparison = 0;
+		while (cursor != null) {
+			comparison = newEntry.compareTo(cursor.value);
+			if (comparison == 0) { // Duplicate found, nothing copied
+				Arrays.fill(path, 0, depth, null); // Do not keep old versions reachable
+				return this.root;
+			}
+			path[depth++] = cursor;
+			cursor = (comparison < 0) ? cursor.left : cursor.right;
+		}
+		return copyPath(path, depth, new BSTreeNode<E>(newEntry), comparison < 0); // Success
+	}
+
+	/**
+	 * Unlinks the smallest node of the current version, copying its ancestors.
+	 *
+	 * @param node root of the current version, must not be null.
+	 * @return root of the new version.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> detachMin(BSTreeNode<E> node) {
+		BSTreeNode<E>[] path = path(node.height);
+		int depth = 0;
+		while (node.left != null) {
+			path[depth++] = node;
+			node = node.left;
+		}
+		return copyPath(path, depth, node.right, true); // Minimum found, right subtree shared as is
+	}
+
+	/**
+	 * Unlinks the largest node of the current version, copying its ancestors.
+	 *
+	 * @param node root of the current version, must not be null.
+	 * @return root of the new version.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	private BSTreeNode<E> detachMax(BSTreeNode<E> node) {
+		BSTreeNode<E>[] path = path(node.height);
+		int depth = 0;
+		while (node.right != null) {
+			path[depth++] = node;
+			node = node.right;
+		}
+		return copyPath(path, depth, node.left, false); // Maximum found, left subtree shared as is
+	}
+
+	/**
+	 * The node at the root of the current version will be returned. The node and
+	 * its subtree never change.
+	 *
+	 * @return node stored at the root of tree is returned
+	 * @throws NullPointerException if the tree is empty and there is no root node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> getRoot()
+			throws NullPointerException
+	{
+		BSTreeNode<E> current = this.root;
+		if (current == null) {
+			throw new NullPointerException("No root node found");
+		}
+		return current;
+	}
+
+	/**
+	 * Determines the row height of the tree and returns that value as an integer
+	 * value.
+	 *
+	 * @return the height of the tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int getHeight()
+	{
+		return height(this.root);
+	}
+
+	/**
+	 * The number of elements currently stored in the tree is counted and the value
+	 * is returned.
+	 *
+	 * @return number of elements currently stored in tree.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public int size()
+	{
+		return size(this.root);
+	}
+
+	/**
+	 * Checks if the tree is currently empty.
+	 *
+	 * @return returns boolean true if the tree is empty otherwise false.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean isEmpty()
+	{
+		return this.root == null;
+	}
+
+	/**
+	 * Clears all elements currently stored in tree and makes the tree empty.
+	 * Snapshots taken before keep their elements.
+	 *
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public synchronized void clear()
+	{
+		this.root = null;
+	}
+
+	/**
+	 * Method used to check if the tree contains the value passed.
+	 *
+	 * @param entry The element to find in the tree
+	 * @return returns True if element is currently in the tree. False if
+	 *         the element is not found in the tree
+	 * @throws NullPointerException if the element being passed in is null.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public boolean contains( E entry )
+			throws NullPointerException
+	{
+		return search(entry) != null;
+	}
+
+	/**
+	 * Retrieves a node from the tree given the object to search for.
+	 *
+	 * @param entry element object being searched
+	 * @return the node with the element located in tree, null if not found
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public BSTreeNode<E> search( E entry )
+			throws NullPointerException
+	{
+		if (entry == null) throw new NullPointerException("Cannot search for null values!");
+
+		BSTreeNode<E> cursor = this.root; // One version for the whole descent
+		while (cursor != null) {
+			int comparison = entry.compareTo(cursor.value);
+			if (comparison == 0) return cursor; // Success
+			cursor = (comparison < 0) ? cursor.left : cursor.right;
+		}
+		return null;
+	}
+
+	/**
+	 * Adds a new element to the tree according to the natural ordering established
+	 * by the Comparable implementation. Only the nodes on the path to the new
+	 * element are copied.
+	 *
+	 * @param newEntry the element being added to the tree
+	 * @return a boolean true if the element is added successfully else false
+	 * @throws NullPointerException if the element being passed in is null
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public synchronized boolean add( E newEntry )
+			throws NullPointerException
+	{
+		if (newEntry == null)
+			throw new NullPointerException("Cannot add null to tree");
+
+		BSTreeNode<E> updated = insert(newEntry);
+		if (updated == this.root) return false; // Duplicate found
+		this.root = updated; // Publish the new version
+		return true; // Success
+	}
+
+	/**
+	 * Removes the smallest element in the tree. Only the ancestors of the removed
+	 * node are copied.
+	 *
+	 * @return the removed element or null if the tree is empty
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public synchronized BSTreeNode<E> removeMin()
+	{
+		if (this.root == null) return null;
+		BSTreeNode<E> cursor = this.root;
+		while (cursor.left != null) {
+			cursor = cursor.left;
+		}
+		this.root = detachMin(this.root);
+		return cursor;
+	}
+
+	/**
+	 * Removes the largest element in the tree. Only the ancestors of the removed
+	 * node are copied.
+	 *
+	 * @return the removed element or null if the tree is empty.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public synchronized BSTreeNode<E> removeMax()
+	{
+		if (this.root == null) return null;
+		BSTreeNode<E> cursor = this.root;
+		while (cursor.right != null) {
+			cursor = cursor.right;
+		}
+		this.root = detachMax(this.root);
+		return cursor;
+	}
+
+	/**
+	 * Generates an in-order iteration over the version current when the iterator
+	 * is created, later changes are not seen. Elements are in their natural order.
+	 * An empty tree gives an empty iteration.
+	 *
+	 * @return an iterator with the elements in the natural order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> inorderIterator()
+	{
+		return new InorderIterator<E>(this.root);
+	}
+
+	/**
+	 * Generates a pre-order iteration over the version current when the iterator
+	 * is created, later changes are not seen. Elements are order in such a way as
+	 * the root element is first.
+	 *
+	 * @return an iterator with the elements in a root element first order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> preorderIterator()
+	{
+		return new PreorderIterator<E>(this.root);
+	}
+
+	/**
+	 * Generates a post-order iteration over the version current when the iterator
+	 * is created, later changes are not seen. Elements are order in such a way as
+	 * the root element is last.
+	 *
+	 * @return an iterator with the elements in a root element last order
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public Iterator<E> postorderIterator()
+	{
+		return new PostorderIterator<E>(this.root);
+	}
+}
@@ -1,13 +1,15 @@
 package implementations;
 
 import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
 import java.util.Deque;
 import java.util.NoSuchElementException;
 
 import utilities.Iterator;
 
 /**
- * Class that contains the Post-Order Iterator for a Binary Search Tree.
+ * Class that contains the Post-Order Iterator for a Binary Search Tree. Nodes are visited lazily, only the path
+ * from the root to the next node is kept, so deep trees cannot overflow the call stack.
  * @param <E> Object with a generic type.
  * @author Estefano Campana
  * @version 1.0
@@ -15,11 +17,23 @@ import utilities.Iterator;
 public class PostorderIterator<E> implements Iterator<E> 
 {
 	/**
-	 * Stack object where the sequence of the Pre-Order traversal search will be saved.
+	 * Stack object that holds the path from the root to the next node.
 	 * @author Estefano Campana
 	 * @version 1.0
 	 */
-	Deque<E> res = new ArrayDeque<E>();
+	Deque<BSTreeNode<E>> res = new ArrayDeque<BSTreeNode<E>>();
+	/**
+	 * Tree being iterated, null if the iterator was built from a bare node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	BSTree<?> tree;
+	/**
+	 * Modification count of the tree when the iterator was created.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	int expectedModCount;
 	/**
 	 * Constructor that accepts the root of the tree.
 	 * @param root BSTreeNode class object that represents the root.
@@ -28,26 +42,38 @@ public class PostorderIterator<E> implements Iterator<E>
 	 */
 	public PostorderIterator(BSTreeNode<E> root) 
 	{
-		postOrder(root);
+		pushFirst(root);
+	}
+
+	/**
+	 * Constructor that accepts the root of the tree and the tree that owns it, so changes to the tree during the
+	 * iteration can be detected.
+	 * @param root BSTreeNode class object that represents the root.
+	 * @param tree BSTree class object that owns the root.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	PostorderIterator(BSTreeNode<E> root, BSTree<?> tree)
+	{
+		this(root);
+		this.tree = tree;
+		this.expectedModCount = tree.modCount;
 	}
+
 	/**
-	 * Method that searches nodes inside a tree with the Post-Order traversal. Smallest value comes first, then the
-	 * rest of the leafs in the same level, after that the parent of this subtree comes in, repeat the same for the
-	 * right tree. Finally root comes in.
+	 * Method that pushes the path down to the first node of a subtree in the Post-Order traversal. The path goes
+	 * left whenever it can and right otherwise, so it ends at the leaf that has to be visited first.
 	 * @param node Current node of the tree.
 	 * @author Estefano Campana
 	 * @version 1.0
 	 */
-	private void postOrder(BSTreeNode<E> node) 
+	private void pushFirst(BSTreeNode<E> node) 
 	{
-		if(node == null) return;
-		//traverse the left tree.
-		postOrder(node.left);
-		//traverse the right tree.
-		postOrder(node.right);
-		//add the values to stack.
-		res.add(node.value);
-		
+		while(node != null)
+		{
+			res.push(node);
+			node = (node.left != null) ? node.left : node.right;
+		}
 	}
 	
 	/**
@@ -62,14 +88,23 @@ public class PostorderIterator<E> implements Iterator<E>
 		return !res.isEmpty();
 	}
 	/**
-	 * Method used to retrieve the next value in the tree in the Post-Order traversal.
+	 * Method used to retrieve the next value in the tree in the Post-Order traversal. Both subtrees of a node come
+	 * before the node itself, so the root comes in last.
+	 * @throws ConcurrentModificationException if the tree was changed after the iterator was created.
 	 * @author Estefano Campana
 	 * @version 1.0
 	 */
 	@Override
 	public E next() throws NoSuchElementException 
 	{
+		if(tree != null && tree.modCount != expectedModCount) throw new ConcurrentModificationException("Tree was modified.");
 		if(!hasNext()) throw new NoSuchElementException("No more elements.");
-		return res.remove();
+		BSTreeNode<E> node = res.pop();
+		//coming back from a left child, the right subtree of the parent is next.
+		if(!res.isEmpty() && res.peek().left == node)
+		{
+			pushFirst(res.peek().right);
+		}
+		return node.value;
 	}
 }
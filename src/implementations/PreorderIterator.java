@@ -1,12 +1,14 @@
 package implementations;
 
 import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
 import java.util.Deque;
 import java.util.NoSuchElementException;
 
 import utilities.Iterator;
 /**
- * Class that contains the Pre-Order Iterator for a Binary Search Tree.
+ * Class that contains the Pre-Order Iterator for a Binary Search Tree. Nodes are visited lazily with an explicit
+ * stack, so deep trees cannot overflow the call stack and callers can stop early without walking the whole tree.
  * @param <E> Object with a generic type.
  * @author Estefano Campana
  * @version 1.0
@@ -14,11 +16,23 @@ import utilities.Iterator;
 public class PreorderIterator<E> implements Iterator<E> 
 {
 	/**
-	 * Stack object where the sequence of the Pre-Order traversal search will be saved.
+	 * Stack object that holds the subtrees still waiting to be visited.
 	 * @author Estefano Campana
 	 * @version 1.0
 	 */
-	Deque<E> res = new ArrayDeque<E>();
+	Deque<BSTreeNode<E>> res = new ArrayDeque<BSTreeNode<E>>();
+	/**
+	 * Tree being iterated, null if the iterator was built from a bare node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	BSTree<?> tree;
+	/**
+	 * Modification count of the tree when the iterator was created.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	int expectedModCount;
 	/**
 	 * Constructor that accepts the root of the tree.
 	 * @param root BSTreeNode class object that represents the root.
@@ -27,25 +41,25 @@ public class PreorderIterator<E> implements Iterator<E>
 	 */
 	public PreorderIterator(BSTreeNode<E> root) 
 	{
-		preOrder(root);
+		//the root comes first.
+		if(root != null) res.push(root);
 	}
+
 	/**
-	 * Method that searches nodes inside a tree with the Pre-Order traversal. Root comes first, then subtree,
-	 * and in the end the right tree comes in.
-	 * @param node Current node of the tree.
-	 * @author Estefano Campana
+	 * Constructor that accepts the root of the tree and the tree that owns it, so changes to the tree during the
+	 * iteration can be detected.
+	 * @param root BSTreeNode class object that represents the root.
+	 * @param tree BSTree class object that owns the root.
+	 * @author TerrellAW
 	 * @version 1.0
 	 */
-	private void preOrder(BSTreeNode<E> node) 
+	PreorderIterator(BSTreeNode<E> root, BSTree<?> tree)
 	{
-		if(node == null) return;
-		//adds the root first.
-		res.add(node.value);
-		//traverse the left subtree.
-		preOrder(node.left);
-		//traverse the right subtree.
-		preOrder(node.right);
+		this(root);
+		this.tree = tree;
+		this.expectedModCount = tree.modCount;
 	}
+
 	/**
 	 * Method used to check if there are more nodes in the tree. In other words, this method checks if Stack is empty,
 	 * if it is empty then there are no more nodes.
@@ -58,14 +72,21 @@ public class PreorderIterator<E> implements Iterator<E>
 		return !res.isEmpty();
 	}
 	/**
-	 * Method used to retrieve the next value in the tree in the Pre-Order traversal.
+	 * Method used to retrieve the next value in the tree in the Pre-Order traversal. Root comes first, then the
+	 * left subtree, and in the end the right subtree comes in.
+	 * @throws ConcurrentModificationException if the tree was changed after the iterator was created.
 	 * @author Estefano Campana
 	 * @version 1.0
 	 */
 	@Override
 	public E next() throws NoSuchElementException 
 	{
+		if(tree != null && tree.modCount != expectedModCount) throw new ConcurrentModificationException("Tree was modified.");
 		if(!hasNext()) throw new NoSuchElementException("No more elements.");
-		return res.remove();
+		BSTreeNode<E> node = res.pop();
+		//the right subtree is pushed first so the left subtree is visited first.
+		if(node.right != null) res.push(node.right);
+		if(node.left != null) res.push(node.left);
+		return node.value;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package implementations;
+
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+import utilities.Iterator;
+
+/**
+ * Class that contains an In-Order Iterator over the elements of a Binary Search Tree that fall inside a range.
+ * The iterator descends straight to the first element of the range and stops at the upper bound, so it costs
+ * O(h + k) for k matching elements.
+ * @param <E> Object with a generic type.
+ * @author TerrellAW
+ * @version 1.0
+ */
+public class RangeIterator<E extends Comparable<? super E>> implements Iterator<E>
+{
+	/**
+	 * Stack object that holds the nodes inside the lower bound whose value and right subtree are still pending.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	Deque<BSTreeNode<E>> res = new ArrayDeque<BSTreeNode<E>>();
+	/**
+	 * Exclusive upper bound of the range.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	E to;
+	/**
+	 * Tree being iterated, null if the iterator was built from a bare node.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	BSTree<?> tree;
+	/**
+	 * Modification count of the tree when the iterator was created.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	int expectedModCount;
+
+	/**
+	 * Constructor that accepts the root of the tree and the bounds of the range.
+	 * @param root BSTreeNode class object that represents the root, may be null.
+	 * @param from smallest element to return, inclusive.
+	 * @param to first element past the range, exclusive.
+	 * @throws NullPointerException if either bound is null.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	public RangeIterator(BSTreeNode<E> root, E from, E to)
+			throws NullPointerException
+	{
+		if(from == null || to == null) throw new NullPointerException("Range bounds cannot be null!");
+		this.to = to;
+		//keeps only the nodes that are not below the lower bound.
+		BSTreeNode<E> node = root;
+		while(node != null)
+		{
+			if(node.value.compareTo(from) < 0)
+			{
+				node = node.right;
+			}
+			else
+			{
+				res.push(node);
+				node = node.left;
+			}
+		}
+	}
+
+	/**
+	 * Constructor that accepts the root of the tree, the tree that owns it and the bounds of the range, so changes
+	 * to the tree during the iteration can be detected.
+	 * @param root BSTreeNode class object that represents the root, may be null.
+	 * @param tree BSTree class object that owns the root.
+	 * @param from smallest element to return, inclusive.
+	 * @param to first element past the range, exclusive.
+	 * @throws NullPointerException if either bound is null.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	RangeIterator(BSTreeNode<E> root, BSTree<?> tree, E from, E to)
+			throws NullPointerException
+	{
+		this(root, from, to);
+		this.tree = tree;
+		this.expectedModCount = tree.modCount;
+	}
+
+	/**
+	 * Method used to check if there are more nodes in the range. The next node is on top of the stack, the range
+	 * is over once the stack is empty or the next node reaches the upper bound.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@Override
+	public boolean hasNext()
+	{
+		return !res.isEmpty() && res.peek().value.compareTo(to) < 0;
+	}
+
+	/**
+	 * Method used to retrieve the next value of the range in the In-Order traversal.
+	 * @throws ConcurrentModificationException if the tree was changed after the iterator was created.
+	 * @author TerrellAW
+	 * @version 1.0
+	 */
+	@Override
+	public E next() throws NoSuchElementException
+	{
+		if(tree != null && tree.modCount != expectedModCount) throw new ConcurrentModificationException("Tree was modified.");
+		if(!hasNext()) throw new NoSuchElementException("No more elements.");
+		BSTreeNode<E> node = res.pop();
+		//the right subtree is above the lower bound, so its whole left spine is pending.
+		BSTreeNode<E> cursor = node.right;
+		while(cursor != null)
+		{
+			res.push(cursor);
+			cursor = cursor.left;
+		}
+		return node.value;
+	}
+}
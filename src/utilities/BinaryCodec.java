@@ -0,0 +1,129 @@
+package utilities;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts elements to and from bytes so data structures can store them outside
+ * the Java heap. Implementors only have to encode and decode, comparing against
+ * stored bytes decodes them unless <code>compare</code> is overridden with a
+ * faster version.
+ *
+ * @param <E> The type of element this codec converts.
+ */
+public interface BinaryCodec<E extends Comparable<? super E>>
+{
+	/**
+	 * Codec for Integer elements, four bytes each. Compares without decoding.
+	 */
+	public static final BinaryCodec<Integer> INTEGER = new BinaryCodec<Integer>()
+	{
+		@Override
+		public int encodedLength( Integer value )
+		{
+			return Integer.BYTES;
+		}
+
+		@Override
+		public void encode( Integer value, ByteBuffer target )
+		{
+			target.putInt( value );
+		}
+
+		@Override
+		public Integer decode( ByteBuffer source )
+		{
+			return source.getInt( source.position() );
+		}
+
+		@Override
+		public int compare( Integer value, ByteBuffer source )
+		{
+			return Integer.compare( value, source.getInt( source.position() ) );
+		}
+	};
+
+	/**
+	 * Codec for String elements, stored as UTF-8. Compares ASCII elements without
+	 * decoding.
+	 */
+	public static final BinaryCodec<String> STRING = new BinaryCodec<String>()
+	{
+		@Override
+		public int encodedLength( String value )
+		{
+			return value.getBytes( StandardCharsets.UTF_8 ).length;
+		}
+
+		@Override
+		public void encode( String value, ByteBuffer target )
+		{
+			target.put( value.getBytes( StandardCharsets.UTF_8 ) );
+		}
+
+		@Override
+		public String decode( ByteBuffer source )
+		{
+			byte[] bytes = new byte[source.remaining()];
+			source.duplicate().get( bytes );
+			return new String( bytes, StandardCharsets.UTF_8 );
+		}
+
+		@Override
+		public int compare( String value, ByteBuffer source )
+		{
+			// ASCII bytes are the same as their chars, anything else is decoded
+			int length = value.length();
+			for( int i = 0, position = source.position(); ; i++, position++ )
+			{
+				if( position == source.limit() ) return length - i;
+				int b = source.get( position );
+				if( b < 0 ) return value.compareTo( decode( source ) );
+				if( i == length ) return -1;
+				int difference = value.charAt( i ) - b;
+				if( difference != 0 ) return difference;
+			}
+		}
+	};
+
+	/**
+	 * Returns the number of bytes <code>encode</code> writes for the value.
+	 *
+	 * @param value element to measure.
+	 * @return length of the encoded element in bytes.
+	 */
+	public int encodedLength( E value );
+
+	/**
+	 * Writes the value at the position of the target buffer and moves the
+	 * position past it.
+	 *
+	 * @param value element to write.
+	 * @param target buffer with at least <code>encodedLength(value)</code> bytes
+	 *        remaining.
+	 */
+	public void encode( E value, ByteBuffer target );
+
+	/**
+	 * Reads an element stored between the position and the limit of the source
+	 * buffer. The buffer must not be kept after the call returns.
+	 *
+	 * @param source buffer holding exactly one encoded element.
+	 * @return the decoded element.
+	 */
+	public E decode( ByteBuffer source );
+
+	/**
+	 * Compares a value with an element stored between the position and the limit
+	 * of the source buffer, with the same sign as compareTo on the decoded
+	 * element.
+	 *
+	 * @param value element to compare.
+	 * @param source buffer holding exactly one encoded element.
+	 * @return negative, zero or positive like compareTo.
+	 */
+	public default int compare( E value, ByteBuffer source )
+	{
+		return value.compareTo( decode( source ) );
+	}
+}
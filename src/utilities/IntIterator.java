@@ -0,0 +1,28 @@
+package utilities;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Mono-directional iterator over primitive <code>int</code> elements, so data
+ * structures that store primitives can be walked without boxing each element.
+ * Works the same way as <code>Iterator</code>.
+ */
+public interface IntIterator
+{
+	/**
+	 * Returns <code>true</code> if the iteration has more elements. (In other
+	 * words, returns <code>true</code> if <code>next()</code> would return an
+	 * element rather than throwing an exception.)
+	 * 
+	 * @return <code>true</code> if the iterator has more elements.
+	 */
+	public boolean hasNext();
+
+	/**
+	 * Returns the next element in the iteration.
+	 * 
+	 * @return The next element in the iteration.
+	 * @throws NoSuchElementException If the iteration has no more elements.
+	 */
+	public int next() throws NoSuchElementException;
+}
@@ -0,0 +1,120 @@
+package word_tracker;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Numbers the names of the files words are read from, so a WordRecord keeps a
+ * small int per file instead of the name. Each repository has its own
+ * dictionary and passes it to its records, ids start at 0 and are never
+ * reused. The dictionary is saved once with the records that use it, so ids
+ * stay the same when a repository is loaded again.
+ * <p>
+ * idOf and nameOf can be called from several threads.
+ * </p>
+ *
+ * @author TerrellAW
+ * @version 1.0
+ */
+public final class FileDictionary implements Serializable {
+
+	// serialization id
+	private static final long serialVersionUID = 1L;
+
+	// names by id, the only thing saved
+	private final ArrayList<String> names = new ArrayList<>();
+	// id of every name seen so far, rebuilt from names when loaded
+	private transient HashMap<String, Integer> ids = new HashMap<>();
+	// last name looked up with its id, every word of a file asks for the same one
+	private transient volatile Entry last;
+
+	/**
+	 * a name and its id, replaced as a whole so a reader never sees the name of
+	 * one lookup with the id of another
+	 *
+	 * @author TerrellAW
+	 */
+	private static final class Entry {
+		final String name;
+		final int id;
+
+		Entry(String name, int id) {
+			this.name = name;
+			this.id = id;
+		}
+	}
+
+	/**
+	 * Creates an empty dictionary
+	 *
+	 * @author TerrellAW
+	 */
+	public FileDictionary() {
+	}
+
+	/**
+	 * returns the id of a file name, giving it the next free id if it is new
+	 *
+	 * @param name file name
+	 * @return id of the file name
+	 * @author TerrellAW
+	 */
+	public int idOf(String name) {
+		Entry entry = last;
+		if (entry != null && entry.name == name) {
+			return entry.id;
+		}
+		synchronized (this) {
+			Integer id = ids.get(name);
+			if (id == null) {
+				id = names.size();
+				ids.put(name, id);
+				names.add(name);
+			}
+			last = new Entry(name, id);
+			return id;
+		}
+	}
+
+	/**
+	 * returns the file name that was given an id
+	 *
+	 * @param id id returned by idOf
+	 * @return the file name
+	 * @author TerrellAW
+	 */
+	public synchronized String nameOf(int id) {
+		return names.get(id);
+	}
+
+	/**
+	 * saves the names while no new name can be added
+	 *
+	 * @param out stream the dictionary is written to
+	 * @throws IOException if the stream cannot be written
+	 * @author TerrellAW
+	 */
+	private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+	}
+
+	/**
+	 * reads the names and numbers them again in the same order
+	 *
+	 * @param in stream the dictionary is read from
+	 * @throws IOException            if the stream cannot be read
+	 * @throws ClassNotFoundException if a saved class cannot be found
+	 * @author TerrellAW
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		ids = new HashMap<>();
+		for (int id = 0; id < names.size(); id++) {
+			ids.put(names.get(id), id);
+		}
+	}
+}
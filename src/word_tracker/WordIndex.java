@@ -0,0 +1,201 @@
+package word_tracker;
+
+import implementations.BSTree;
+import utilities.Iterator;
+
+/**
+ * Hash index in front of the tree of WordRecords, reading files only needs to
+ * find the record of an exact word so that is a hash lookup instead of a
+ * descent of the tree. The tree still holds every record in order for the
+ * report and is the only thing saved to repository.ser, the index is rebuilt
+ * from it when it is loaded.
+ * <p>
+ * Words can be looked up as a range of a char array, so the words given by
+ * WordTokenizer only become Strings when they are new.
+ * </p>
+ * <p>
+ * The index owns the FileDictionary of the repository, every record in the
+ * tree numbers its files in it, so two repositories never share ids.
+ * </p>
+ *
+ * @author TerrellAW
+ * @version 1.0
+ */
+public class WordIndex {
+
+	// tree holding the records in word order
+	private final BSTree<WordRecord> tree;
+	// file names of the repository, shared by all its records
+	private final FileDictionary dictionary;
+	// open addressing table of the same records, slots are found by linear probing
+	// from the hash of the word, and are never emptied
+	private WordRecord[] table;
+	// hash of the word of the record in the same slot
+	private int[] hashes;
+	// number of records in the table
+	private int size;
+
+	/**
+	 * Creates an index of the records already in a tree, records added through
+	 * the index are added to the tree too. Records loaded together keep the
+	 * dictionary they were saved with, any record using another one is moved to
+	 * it
+	 *
+	 * @param tree tree of the records, usually loaded from repository.ser
+	 * @author TerrellAW
+	 */
+	public WordIndex(BSTree<WordRecord> tree) {
+		this.tree = tree;
+		// at most half full
+		int capacity = 16;
+		while (capacity < 2 * tree.size()) {
+			capacity *= 2;
+		}
+		this.table = new WordRecord[capacity];
+		this.hashes = new int[capacity];
+
+		// the tree has no root to iterate from when there is no repository yet
+		if (tree.isEmpty()) {
+			this.dictionary = new FileDictionary();
+			return;
+		}
+		this.dictionary = tree.getRoot().getElement().getDictionary();
+		Iterator<WordRecord> it = tree.inorderIterator();
+		while (it.hasNext()) {
+			WordRecord r = it.next();
+			r.bind(dictionary);
+			String word = r.getWord();
+			insert(r, hash(word.toCharArray(), 0, word.length()));
+		}
+	}
+
+	/**
+	 * hash of a word, the same as String.hashCode() with the high bits mixed into
+	 * the low bits the table uses
+	 *
+	 * @param chars  chars holding the word
+	 * @param offset index of the first char of the word
+	 * @param length number of chars in the word
+	 * @return hash of the word
+	 * @author TerrellAW
+	 */
+	private static int hash(char[] chars, int offset, int length) {
+		int h = 0;
+		for (int i = offset; i < offset + length; i++) {
+			h = 31 * h + chars[i];
+		}
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * checks if a word is the same as a range of chars
+	 *
+	 * @param word   word to compare
+	 * @param chars  chars holding the other word
+	 * @param offset index of the first char of the other word
+	 * @param length number of chars in the other word
+	 * @return true if the words are the same
+	 * @author TerrellAW
+	 */
+	private static boolean matches(String word, char[] chars, int offset, int length) {
+		if (word.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (word.charAt(i) != chars[offset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * puts a record in the first free slot for its hash, doubling the table first
+	 * if that would make it more than half full
+	 *
+	 * @param record record to add, its word must not be in the table
+	 * @param hash   hash of the word of the record
+	 * @author TerrellAW
+	 */
+	private void insert(WordRecord record, int hash) {
+		if (2 * (size + 1) > table.length) {
+			WordRecord[] oldTable = table;
+			int[] oldHashes = hashes;
+			table = new WordRecord[2 * oldTable.length];
+			hashes = new int[2 * oldTable.length];
+			size = 0;
+			for (int i = 0; i < oldTable.length; i++) {
+				if (oldTable[i] != null) {
+					insert(oldTable[i], oldHashes[i]);
+				}
+			}
+		}
+
+		int mask = table.length - 1;
+		int slot = hash & mask;
+		while (table[slot] != null) {
+			slot = (slot + 1) & mask;
+		}
+		table[slot] = record;
+		hashes[slot] = hash;
+		size++;
+	}
+
+	/**
+	 * returns the record of a word, adding a new empty record to the index and
+	 * the tree if the word has not been seen before
+	 *
+	 * @param word the word to find
+	 * @return the record of the word
+	 * @author TerrellAW
+	 */
+	public WordRecord getOrAdd(String word) {
+		return getOrAdd(word.toCharArray(), 0, word.length());
+	}
+
+	/**
+	 * returns the record of a word given as a range of chars, adding a new empty
+	 * record to the index and the tree if the word has not been seen before. A
+	 * String is only made for a new word.
+	 *
+	 * @param chars  chars holding the word, not kept
+	 * @param offset index of the first char of the word
+	 * @param length number of chars in the word
+	 * @return the record of the word
+	 * @author TerrellAW
+	 */
+	public WordRecord getOrAdd(char[] chars, int offset, int length) {
+		int hash = hash(chars, offset, length);
+		int mask = table.length - 1;
+		for (int slot = hash & mask; table[slot] != null; slot = (slot + 1) & mask) {
+			if (hashes[slot] == hash && matches(table[slot].getWord(), chars, offset, length)) {
+				return table[slot];
+			}
+		}
+
+		// only new words touch the tree
+		WordRecord record = tree.getOrAdd(new WordRecord(new String(chars, offset, length), dictionary));
+		insert(record, hash);
+		return record;
+	}
+
+	/**
+	 * returns the dictionary the records of the repository number their files in
+	 *
+	 * @return the dictionary of the repository
+	 * @author TerrellAW
+	 */
+	public FileDictionary getDictionary() {
+		return dictionary;
+	}
+
+	/**
+	 * returns the tree of all records, in word order
+	 *
+	 * @return the tree behind the index
+	 * @author TerrellAW
+	 */
+	public BSTree<WordRecord> getTree() {
+		return tree;
+	}
+}
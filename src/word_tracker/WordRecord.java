@@ -1,8 +1,14 @@
 package word_tracker;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Map;
 
 /**
  * WordRecord is used to store record(s) of a word since in this application we
@@ -17,32 +23,61 @@ public class WordRecord implements Comparable<WordRecord>, Serializable {
 
 	// serialization id
 	private static final long serialVersionUID = 144L;
+	// fields of the saved form, references is only filled in by records saved
+	// before line numbers were kept in int arrays
+	private static final ObjectStreamField[] serialPersistentFields = {
+			new ObjectStreamField("word", String.class),
+			new ObjectStreamField("references", HashMap.class) };
+	// capacity of the line array of a file the first time the word is seen in it
+	private static final int INITIAL_LINES = 4;
 
 	// the word we are storing
 	private String word;
-	// word data.
-	// Key:using filename is the key,
-	// Value: an ArrayList<Integer> of the line numbers the word occurred in
-	private HashMap<String, ArrayList<Integer>> references;
+	// word data, one slot per file the word occurred in:
+	// files: id of the file name in the dictionary
+	// lines: line numbers the word occurred in, only the first lineCounts are used
+	private transient int[] files;
+	private transient int[][] lines;
+	private transient int[] lineCounts;
+	// number of files used in the arrays above
+	private transient int fileCount;
+	// dictionary of the repository the record belongs to, gives the ids in files
+	private transient FileDictionary dictionary;
 
 	/**
 	 * Word Record constructor Checks whether the word value is null or the word
 	 * string is empty/contains only white space if true throws a
 	 * {@code NullPointerException} with a related message Takes the text of the
 	 * word that we are trying to keep track of as a parameter creates a WordRecord
-	 * object by adding a HashMap that keeps track of references
+	 * object with no references yet, the record numbers its files in a
+	 * dictionary of its own
 	 * 
 	 * @param wordText the text of the word to keep track of.
 	 * @author Youssif Al-Halawche
 	 */
 	public WordRecord(String wordText) {
+		this(wordText, new FileDictionary());
+	}
+
+	/**
+	 * Creates a record of a word with no references yet that numbers its files in
+	 * the dictionary of a repository, records of the same repository share one
+	 * 
+	 * @param wordText   the text of the word to keep track of.
+	 * @param dictionary dictionary of the repository the record belongs to
+	 * @author TerrellAW
+	 */
+	public WordRecord(String wordText, FileDictionary dictionary) {
 
 		if (wordText == null) {
 			throw new NullPointerException("Word text cannot be null");
 		}
+		if (dictionary == null) {
+			throw new NullPointerException("Dictionary cannot be null");
+		}
 
 		this.word = wordText;
-		this.references = new HashMap<>();
+		this.dictionary = dictionary;
 
 	}
 
@@ -51,17 +86,111 @@ public class WordRecord implements Comparable<WordRecord>, Serializable {
 	 * 
 	 * 
 	 * @author Youssif Al-Halawche
-	 * @param filename   file name used as key in the references HashMap
-	 * @param lineNumber The lineNumber to be added to the ArrayList of linenumbers
+	 * @param filename   file name the word was found in
+	 * @param lineNumber The lineNumber to be added to the line numbers of the file
 	 * @return void
 	 * @author Youssif Al-Halawche
 	 */
 	public void addLocation(String filename, int lineNumber) {
-		if (!references.containsKey(filename)) {
-			references.put(filename, new ArrayList<>());
+		int slot = slotOf(dictionary.idOf(filename));
+		if (lineCounts[slot] == lines[slot].length) {
+			lines[slot] = Arrays.copyOf(lines[slot], 2 * lines[slot].length);
+		}
+		lines[slot][lineCounts[slot]++] = lineNumber;
+	}
+
+	/**
+	 * returns the slot of a file in the arrays of the record, adding an empty slot
+	 * if the word has not been found in the file yet
+	 * 
+	 * @param fileId id of the file name in the dictionary
+	 * @return index of the file in files, lines and lineCounts
+	 * @author TerrellAW
+	 */
+	private int slotOf(int fileId) {
+		// the file being read is the last one added, so search from the end
+		for (int slot = fileCount - 1; slot >= 0; slot--) {
+			if (files[slot] == fileId) {
+				return slot;
+			}
+		}
+
+		if (files == null) {
+			files = new int[1];
+			lines = new int[1][];
+			lineCounts = new int[1];
+		} else if (fileCount == files.length) {
+			files = Arrays.copyOf(files, 2 * fileCount);
+			lines = Arrays.copyOf(lines, 2 * fileCount);
+			lineCounts = Arrays.copyOf(lineCounts, 2 * fileCount);
 		}
-		references.get(filename).add(lineNumber);
+		files[fileCount] = fileId;
+		lines[fileCount] = new int[INITIAL_LINES];
+		return fileCount++;
+	}
+
+	/**
+	 * merges the references of another record of the same word into this one,
+	 * used as the combine hook when two trees of words are merged, the other
+	 * record may belong to another repository
+	 * 
+	 * @param other record of the same word whose locations are added
+	 * @return this record, now holding the locations of both records
+	 * @author TerrellAW
+	 */
+	public WordRecord merge(WordRecord other) {
+		for (int i = 0; i < other.fileCount; i++) {
+			int slot = slotOf(idOf(other, i));
+			int count = lineCounts[slot] + other.lineCounts[i];
+			if (count > lines[slot].length) {
+				lines[slot] = Arrays.copyOf(lines[slot], Math.max(count, 2 * lines[slot].length));
+			}
+			System.arraycopy(other.lines[i], 0, lines[slot], lineCounts[slot], other.lineCounts[i]);
+			lineCounts[slot] = count;
+		}
+		return this;
+	}
 
+	/**
+	 * returns the id in the dictionary of this record of a file of another record
+	 * 
+	 * @param other record holding the file
+	 * @param slot  slot of the file in the other record
+	 * @return id of the file name in this dictionary
+	 * @author TerrellAW
+	 */
+	private int idOf(WordRecord other, int slot) {
+		if (other.dictionary == dictionary) {
+			return other.files[slot];
+		}
+		return dictionary.idOf(other.dictionary.nameOf(other.files[slot]));
+	}
+
+	/**
+	 * moves the record to the dictionary of a repository, numbering its files
+	 * again if it used another dictionary
+	 * 
+	 * @param repository dictionary of the repository the record is added to
+	 * @author TerrellAW
+	 */
+	void bind(FileDictionary repository) {
+		if (repository == dictionary) {
+			return;
+		}
+		for (int slot = 0; slot < fileCount; slot++) {
+			files[slot] = repository.idOf(dictionary.nameOf(files[slot]));
+		}
+		dictionary = repository;
+	}
+
+	/**
+	 * returns the dictionary the record numbers its files in
+	 * 
+	 * @return dictionary of the record
+	 * @author TerrellAW
+	 */
+	FileDictionary getDictionary() {
+		return dictionary;
 	}
 
 	/**
@@ -75,11 +204,23 @@ public class WordRecord implements Comparable<WordRecord>, Serializable {
 	}
 
 	/**
-	 * @return HashMap containing all references to the lines numbers the word
-	 *         occurred in
+	 * Builds the references of the word in the form the formatters read, the
+	 * record itself keeps line numbers in int arrays so changing the map does not
+	 * change the record
+	 * 
+	 * @return HashMap from the file names to the lines numbers the word occurred
+	 *         in
 	 * @author Youssif Al-Halawche
 	 */
 	public HashMap<String, ArrayList<Integer>> getReferences() {
+		HashMap<String, ArrayList<Integer>> references = new HashMap<>();
+		for (int slot = 0; slot < fileCount; slot++) {
+			ArrayList<Integer> fileLines = new ArrayList<>(lineCounts[slot]);
+			for (int i = 0; i < lineCounts[slot]; i++) {
+				fileLines.add(lines[slot][i]);
+			}
+			references.put(dictionary.nameOf(files[slot]), fileLines);
+		}
 		return references;
 	}
 
@@ -95,7 +236,73 @@ public class WordRecord implements Comparable<WordRecord>, Serializable {
 
 	@Override
 	public String toString() {
-		return "WordRecord [word=" + word + ", references=" + references + "]";
+		return "WordRecord [word=" + word + ", references=" + getReferences() + "]";
+	}
+
+	/**
+	 * saves the word, the dictionary and, for each file, its id followed by the
+	 * line numbers, the stream writes the dictionary once for all records sharing
+	 * it
+	 * 
+	 * @param out stream the record is written to
+	 * @throws IOException if the stream cannot be written
+	 * @author TerrellAW
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		ObjectOutputStream.PutField fields = out.putFields();
+		fields.put("word", word);
+		fields.put("references", null);
+		out.writeFields();
+
+		out.writeObject(dictionary);
+		out.writeInt(fileCount);
+		for (int slot = 0; slot < fileCount; slot++) {
+			out.writeInt(files[slot]);
+			out.writeInt(lineCounts[slot]);
+			for (int i = 0; i < lineCounts[slot]; i++) {
+				out.writeInt(lines[slot][i]);
+			}
+		}
+	}
+
+	/**
+	 * reads a record saved by writeObject, or one saved before line numbers were
+	 * kept in int arrays, which has its locations in the references map
+	 * 
+	 * @param in stream the record is read from
+	 * @throws IOException            if the stream cannot be read
+	 * @throws ClassNotFoundException if a saved class cannot be found
+	 * @author TerrellAW
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		ObjectInputStream.GetField fields = in.readFields();
+		word = (String) fields.get("word", null);
+		HashMap<String, ArrayList<Integer>> references = (HashMap<String, ArrayList<Integer>>) fields
+				.get("references", null);
+
+		if (references != null) {
+			// old format, the repository binds the record to its dictionary
+			dictionary = new FileDictionary();
+			for (Map.Entry<String, ArrayList<Integer>> entry : references.entrySet()) {
+				for (Integer lineNumber : entry.getValue()) {
+					addLocation(entry.getKey(), lineNumber);
+				}
+			}
+			return;
+		}
+
+		dictionary = (FileDictionary) in.readObject();
+		int savedFiles = in.readInt();
+		for (int f = 0; f < savedFiles; f++) {
+			int slot = slotOf(in.readInt());
+			int count = in.readInt();
+			lines[slot] = new int[Math.max(count, INITIAL_LINES)];
+			for (int i = 0; i < count; i++) {
+				lines[slot][i] = in.readInt();
+			}
+			lineCounts[slot] = count;
+		}
 	}
 
 }
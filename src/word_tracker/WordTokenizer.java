@@ -0,0 +1,449 @@
+package word_tracker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Splits text into lowercase words the same way as
+ * {@code line.toLowerCase().split("[ ,.;:!?()\"'-]+")} on every line read by
+ * BufferedReader.readLine(), without making a String per line or per word. The
+ * text is read into a char buffer, each line is lowercased in place and every
+ * word is given as an offset and length into that buffer.
+ * <p>
+ * Lines that are all ASCII are lowercased in place by mapping A to Z to a to z.
+ * Lines with other characters, or every line when the default locale lowercases
+ * ASCII differently, go through String.toLowerCase() like before.
+ * </p>
+ * <p>
+ * A file can also be read from a FileChannel, it is then mapped into memory a
+ * window at a time and read as UTF-8 bytes instead of through a Reader. ASCII
+ * lines are lowercased straight from the bytes into the char buffer, only lines
+ * with other bytes are decoded into a String.
+ * </p>
+ * 
+ * @author TerrellAW
+ * @version 1.0
+ */
+public final class WordTokenizer implements Closeable {
+
+	// size of the first read buffer, doubled when a line takes more than half
+	private static final int BUFFER_SIZE = 8192;
+	// size of the part of a file that is mapped at a time, a window always starts
+	// at a line and is made bigger for a line that does not fit
+	private static final int WINDOW_SIZE = 1 << 26;
+
+	// source of the text, null when reading a mapped file
+	private final Reader in;
+	// mapped file and its size, null when reading from a reader
+	private final FileChannel channel;
+	private final long fileSize;
+	// bytes mapped at a time unless a line needs more
+	private final int windowSize;
+	// mapped part of the file and the position in the file where it starts
+	private MappedByteBuffer window;
+	private long windowStart;
+	// position in the file of the next line
+	private long filePosition;
+	// true if the default locale lowercases ASCII letters to ASCII letters
+	private final boolean asciiFold;
+	// text read so far, the current line starts at lineStart, the next one at
+	// lineEnd and the text read ends at limit
+	private char[] buffer = new char[BUFFER_SIZE];
+	private int lineStart;
+	private int lineEnd;
+	private int limit;
+	// true if the last line ended with \r, so a \n right after it is part of the same line break
+	private boolean skipLF;
+	// chars of the current line and where the next word is looked for
+	private char[] chars = buffer;
+	private int position;
+	private int end;
+	// the current word
+	private int offset;
+	private int length;
+	// number of the current line, starting at 1
+	private int lineNumber;
+
+	/**
+	 * Creates a tokenizer reading text from a reader, the reader is buffered by
+	 * the tokenizer
+	 * 
+	 * @param in reader of the text
+	 * @author TerrellAW
+	 */
+	public WordTokenizer(Reader in) {
+		this.in = in;
+		this.channel = null;
+		this.fileSize = 0;
+		this.windowSize = 0;
+		this.asciiFold = foldsAscii();
+	}
+
+	/**
+	 * Creates a tokenizer reading a file as UTF-8 by mapping it into memory, the
+	 * channel is closed by the tokenizer
+	 * 
+	 * @param channel channel of the file, open for reading
+	 * @throws IOException if the size of the file cannot be read
+	 * @author TerrellAW
+	 */
+	public WordTokenizer(FileChannel channel) throws IOException {
+		this(channel, WINDOW_SIZE);
+	}
+
+	/**
+	 * Creates a tokenizer reading a file as UTF-8 by mapping it into memory a
+	 * given number of bytes at a time, the channel is closed by the tokenizer
+	 * 
+	 * @param channel    channel of the file, open for reading
+	 * @param windowSize number of bytes mapped at a time, more are mapped for a
+	 *                   line that does not fit
+	 * @throws IOException              if the size of the file cannot be read
+	 * @throws IllegalArgumentException if windowSize is less than 1
+	 * @author TerrellAW
+	 */
+	public WordTokenizer(FileChannel channel, int windowSize) throws IOException {
+		if (windowSize < 1) {
+			throw new IllegalArgumentException("Window size must be at least 1");
+		}
+		this.in = null;
+		this.channel = channel;
+		this.windowSize = windowSize;
+		this.fileSize = channel.size();
+		this.asciiFold = foldsAscii();
+	}
+
+	/**
+	 * checks if the default locale lowercases ASCII letters to ASCII letters
+	 * 
+	 * @return true if A to Z can be lowercased to a to z
+	 * @author TerrellAW
+	 */
+	private static boolean foldsAscii() {
+		String language = Locale.getDefault().getLanguage();
+		// Turkish and Azeri lowercase I to a dotless i
+		return !language.equals("tr") && !language.equals("az");
+	}
+
+	/**
+	 * checks if a char separates words, these are the chars of the split regex
+	 * 
+	 * @param c char to check
+	 * @return true if c separates words
+	 * @author TerrellAW
+	 */
+	private static boolean isSeparator(char c) {
+		switch (c) {
+		case ' ':
+		case ',':
+		case '.':
+		case ';':
+		case ':':
+		case '!':
+		case '?':
+		case '(':
+		case ')':
+		case '"':
+		case '\'':
+		case '-':
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * moves to the next word
+	 * 
+	 * @return true if there is a word, false at the end of the text
+	 * @throws IOException if the text cannot be read
+	 * @author TerrellAW
+	 */
+	public boolean next() throws IOException {
+		while (true) {
+			while (position < end && isSeparator(chars[position])) {
+				position++;
+			}
+			if (position < end) {
+				offset = position;
+				while (position < end && !isSeparator(chars[position])) {
+					position++;
+				}
+				length = position - offset;
+				return true;
+			}
+			if (!nextLine()) {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * reads the next line and lowercases it, lines end at \n, \r or \r\n like
+	 * they do for BufferedReader.readLine()
+	 * 
+	 * @return false if there are no more lines
+	 * @throws IOException if the text cannot be read
+	 * @author TerrellAW
+	 */
+	private boolean nextLine() throws IOException {
+		if (channel != null) {
+			return nextMappedLine();
+		}
+		lineStart = lineEnd;
+		// chars of the line checked so far, fill() can move the line in the buffer
+		int scanned = 0;
+		while (true) {
+			if (lineStart + scanned == limit && !fill()) {
+				if (scanned == 0) {
+					return false; // nothing after the last line break
+				}
+				lineEnd = limit; // last line has no line break
+				break;
+			}
+			char c = buffer[lineStart + scanned];
+			if (skipLF) {
+				skipLF = false;
+				if (c == '\n') { // rest of a \r\n line break
+					lineStart++;
+					continue;
+				}
+			}
+			if (c == '\n' || c == '\r') {
+				lineEnd = lineStart + scanned + 1;
+				skipLF = (c == '\r');
+				break;
+			}
+			scanned++;
+		}
+		lowercase(lineStart, lineStart + scanned);
+		lineNumber++;
+		return true;
+	}
+
+	/**
+	 * reads the next line of a mapped file and lowercases it, with the same line
+	 * breaks as nextLine(). An ASCII line is lowercased into buffer while looking
+	 * for its end, any other line is decoded from UTF-8 and goes through
+	 * String.toLowerCase().
+	 * 
+	 * @return false if there are no more lines
+	 * @throws IOException if the file cannot be mapped
+	 * @author TerrellAW
+	 */
+	private boolean nextMappedLine() throws IOException {
+		if (skipLF && filePosition < fileSize) {
+			skipLF = false;
+			map(filePosition, 1);
+			if (window.get((int) (filePosition - windowStart)) == '\n') { // rest of a \r\n line break
+				filePosition++;
+			}
+		}
+		if (filePosition == fileSize) {
+			return false; // nothing after the last line break
+		}
+		map(filePosition, 1);
+
+		int from = (int) (filePosition - windowStart);
+		// bytes of the line checked so far
+		int scanned = 0;
+		int lineBreak = 0;
+		boolean ascii = asciiFold;
+		while (true) {
+			if (from + scanned == window.limit()) {
+				if (windowStart + window.limit() == fileSize) {
+					break; // last line has no line break
+				}
+				// the line goes on after the window, map it again from its start
+				map(filePosition, scanned + 1);
+				from = 0;
+			}
+			byte b = window.get(from + scanned);
+			if (b == '\n' || b == '\r') {
+				lineBreak = 1;
+				skipLF = (b == '\r');
+				break;
+			}
+			if (ascii) {
+				if (b < 0) {
+					ascii = false; // not ASCII, decode the line below
+				} else {
+					if (scanned == buffer.length) {
+						buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+					}
+					buffer[scanned] = (char) ((b >= 'A' && b <= 'Z') ? b + ('a' - 'A') : b);
+				}
+			}
+			scanned++;
+		}
+
+		if (ascii) {
+			chars = buffer;
+			position = 0;
+			end = scanned;
+		} else {
+			byte[] bytes = new byte[scanned];
+			window.position(from);
+			window.get(bytes);
+			chars = new String(bytes, StandardCharsets.UTF_8).toLowerCase().toCharArray();
+			position = 0;
+			end = chars.length;
+		}
+		filePosition += scanned + lineBreak;
+		lineNumber++;
+		return true;
+	}
+
+	/**
+	 * maps the window holding a part of the file, nothing is mapped again if the
+	 * current window already holds it
+	 * 
+	 * @param start  position in the file of the first byte needed
+	 * @param length number of bytes needed, less if the file ends first
+	 * @throws IOException if the file cannot be mapped
+	 * @author TerrellAW
+	 */
+	private void map(long start, int length) throws IOException {
+		long needed = Math.min(length, fileSize - start);
+		if (window != null && start >= windowStart && start + needed <= windowStart + window.limit()) {
+			return;
+		}
+		// a window can be at most 2GB, the old window is unmapped when it is collected
+		long size = Math.min(fileSize - start, Math.max(windowSize, 2L * needed));
+		window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size, Integer.MAX_VALUE));
+		windowStart = start;
+	}
+
+	/**
+	 * reads more text after limit, when there is no room left the current line is
+	 * moved to the start of the buffer, or to a buffer twice as big if it takes
+	 * more than half of it
+	 * 
+	 * @return false at the end of the text
+	 * @throws IOException if the text cannot be read
+	 * @author TerrellAW
+	 */
+	private boolean fill() throws IOException {
+		if (limit == buffer.length) {
+			int kept = limit - lineStart;
+			char[] target = (kept > buffer.length / 2) ? new char[2 * buffer.length] : buffer;
+			System.arraycopy(buffer, lineStart, target, 0, kept);
+			buffer = target;
+			limit = kept;
+			lineStart = 0;
+		}
+		int read;
+		do {
+			read = in.read(buffer, limit, buffer.length - limit);
+		} while (read == 0);
+		if (read < 0) {
+			return false;
+		}
+		limit += read;
+		return true;
+	}
+
+	/**
+	 * lowercases a line and makes it the one words are read from
+	 * 
+	 * @param from index of the first char of the line in buffer
+	 * @param to   index after the last char of the line, without the line break
+	 * @author TerrellAW
+	 */
+	private void lowercase(int from, int to) {
+		if (asciiFold) {
+			int i = from;
+			for (; i < to; i++) {
+				char c = buffer[i];
+				if (c >= 0x80) {
+					break; // not ASCII, use toLowerCase below
+				}
+				if (c >= 'A' && c <= 'Z') {
+					buffer[i] = (char) (c + ('a' - 'A'));
+				}
+			}
+			if (i == to) {
+				chars = buffer;
+				position = from;
+				end = to;
+				return;
+			}
+		}
+		chars = new String(buffer, from, to - from).toLowerCase().toCharArray();
+		position = 0;
+		end = chars.length;
+	}
+
+	/**
+	 * returns the chars holding the current word, only valid until the next call
+	 * of next
+	 * 
+	 * @return the chars of the current line
+	 * @author TerrellAW
+	 */
+	public char[] chars() {
+		return chars;
+	}
+
+	/**
+	 * returns where the current word starts in chars()
+	 * 
+	 * @return index of the first char of the word
+	 * @author TerrellAW
+	 */
+	public int offset() {
+		return offset;
+	}
+
+	/**
+	 * returns the length of the current word
+	 * 
+	 * @return number of chars in the word
+	 * @author TerrellAW
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * returns the number of the line the current word is on
+	 * 
+	 * @return line number, starting at 1
+	 * @author TerrellAW
+	 */
+	public int lineNumber() {
+		return lineNumber;
+	}
+
+	/**
+	 * returns the current word as a String
+	 * 
+	 * @return the current word
+	 * @author TerrellAW
+	 */
+	public String token() {
+		return new String(chars, offset, length);
+	}
+
+	/**
+	 * closes the reader or the channel
+	 * 
+	 * @throws IOException if the reader or channel cannot be closed
+	 * @author TerrellAW
+	 */
+	@Override
+	public void close() throws IOException {
+		window = null;
+		if (channel != null) {
+			channel.close();
+		} else {
+			in.close();
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package word_tracker;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
@@ -10,9 +9,9 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.channels.FileChannel;
 
 import implementations.BSTree;
-import implementations.BSTreeNode;
 import utilities.Iterator;
 
 public class WordTracker {
@@ -31,6 +30,8 @@ public class WordTracker {
 	static OutputMode outputmode = OutputMode.PF;
 	// output file path, incase user used the third optional argument
 	static String outputFile = null;
+	// true if the input file is memory mapped and read as UTF-8, set by -m
+	static boolean mappedInput = false;
 
 	/**
 	 * Entry point of the program
@@ -45,7 +46,7 @@ public class WordTracker {
 		if (args.length < 2) {
 			System.out.println("program crashed because you did not supply valid/enough arguments \n \n");
 			throw new IllegalArgumentException(
-					"usage java -jar WordTracker.jar <input.txt> -pf/-pl/-po [-f<output.txt>]");
+					"usage java -jar WordTracker.jar <input.txt> -pf/-pl/-po [-f<output.txt>] [-m]");
 		}
 		// 1-parse arguments
 		File f = new File(args[0]);
@@ -66,21 +67,25 @@ public class WordTracker {
 			throw new IllegalArgumentException("Invalid Option: " + args[1].toString());
 		}
 
-		// optional third arguement handling
-		if (args.length == 3) {
-			String opt = args[2];
+		// optional arguements handling
+		for (int i = 2; i < args.length; i++) {
+			String opt = args[i];
 			if (opt.startsWith("-f")) {
 				if (opt.length() > 2) {
 					outputFile = opt.substring(2);
 				}
+			} else if (opt.equals("-m")) {
+				mappedInput = true;
 			}
 		}
 		// 2-deserialize
 		// deserialized tree
 		BSTree<WordRecord> tree = deserialize();
+		// hash index of the records for looking up words while reading
+		WordIndex index = new WordIndex(tree);
 
 		// 3-process input file
-		processInputFile(tree, f);
+		processInputFile(index, f);
 
 		// 5-generate report
 		String report = generateReport(tree, outputmode);
@@ -152,44 +157,28 @@ public class WordTracker {
 	/**
 	 * Reads the input file line by line while reading the file uses non-word
 	 * characters to seperate words then updates the BST with WordRecord objects and
-	 * locations
+	 * locations, words are looked up through the hash index of the tree without
+	 * making a String unless the word is new. With -m the file is memory mapped
+	 * and read as UTF-8 instead of through a FileReader
 	 * 
-	 * @param tree BSTree to be updated
-	 * @param file input text file
+	 * @param index index of the BSTree to be updated
+	 * @param file  input text file
 	 * 
 	 * @author Youssif Al-Halawche
 	 */
-	private static void processInputFile(BSTree<WordRecord> tree, File file) {
+	private static void processInputFile(WordIndex index, File file) {
 		String fileNameOnly = file.getName();
 
-		try (BufferedReader br = new BufferedReader(new FileReader(file))) {
-			String line;
-			int lineNumber = 0;
-
-			while ((line = br.readLine()) != null) {
-				lineNumber++;
-
-				// split line into words, use non-words as seperators
-				String[] words = line.toLowerCase().split("[ ,.;:!?()\"'-]+");
-
-				for (String s : words) {
-					if (s.isEmpty()) {
-						continue;
-					}
-
-					WordRecord keyRecord = new WordRecord(s);
-
-					BSTreeNode<WordRecord> node = tree.search(keyRecord);
-
-					if (node == null) {
-						WordRecord newRecord = new WordRecord(s);
-						newRecord.addLocation(fileNameOnly, lineNumber);
-						tree.add(newRecord);
-					} else {
-						// in this case the word exists
-						WordRecord existingWord = node.getElement();
-						existingWord.addLocation(fileNameOnly, lineNumber);
-					}
+		try {
+			if (mappedInput) {
+				// the channel is closed even if the tokenizer cannot be created
+				try (FileChannel channel = FileChannel.open(file.toPath());
+						WordTokenizer words = new WordTokenizer(channel)) {
+					addWords(index, fileNameOnly, words);
+				}
+			} else {
+				try (WordTokenizer words = new WordTokenizer(new FileReader(file))) {
+					addWords(index, fileNameOnly, words);
 				}
 			}
 		} catch (Exception e) {
@@ -197,6 +186,25 @@ public class WordTracker {
 		}
 	}
 
+	/**
+	 * adds the location of every word given by a tokenizer to its record
+	 * 
+	 * @param index    index of the BSTree to be updated
+	 * @param fileName name of the file the words are from
+	 * @param words    tokenizer of the file
+	 * @throws IOException if the file cannot be read
+	 * 
+	 * @author TerrellAW
+	 */
+	private static void addWords(WordIndex index, String fileName, WordTokenizer words) throws IOException {
+		// splits lines into lowercase words, uses non-words as seperators
+		while (words.next()) {
+			// finds the record of the word, only new words are added to the tree
+			WordRecord record = index.getOrAdd(words.chars(), words.offset(), words.length());
+			record.addLocation(fileName, words.lineNumber());
+		}
+	}
+
 	/**
 	 * loads repository.ser if exists, if it does not then it returns a new empty
 	 * tree
@@ -211,14 +219,39 @@ public class WordTracker {
 	public static BSTree<WordRecord> deserialize() {
 		File repo = new File("repository.ser");
 		if (!repo.exists()) {
-			return new BSTree<>();
+			return new BSTree<>(BSTree.BalanceMode.AVL);
 		}
 		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(repo))) {
-			return (BSTree<WordRecord>) ois.readObject();
+			return balanced((BSTree<WordRecord>) ois.readObject());
 		} catch (Exception e) {
 			e.printStackTrace();
-			return new BSTree<>();
+			return new BSTree<>(BSTree.BalanceMode.AVL);
+		}
+	}
+
+	/**
+	 * returns a tree that stays balanced while words are added, repositories saved
+	 * before the tree was balanced are copied into an AVL tree, files whose words
+	 * come in sorted order would otherwise make the tree a long chain
+	 * 
+	 * @param tree tree loaded from repository.ser
+	 * @return the same tree if it is already balanced, otherwise an AVL tree of
+	 *         the same records
+	 * @author TerrellAW
+	 */
+	private static BSTree<WordRecord> balanced(BSTree<WordRecord> tree) {
+		if (tree.getBalanceMode() == BSTree.BalanceMode.AVL) {
+			return tree;
+		}
+		BSTree<WordRecord> avl = new BSTree<>(BSTree.BalanceMode.AVL);
+		// the tree has no root to iterate from when it is empty
+		if (!tree.isEmpty()) {
+			Iterator<WordRecord> it = tree.inorderIterator();
+			while (it.hasNext()) {
+				avl.add(it.next());
+			}
 		}
+		return avl;
 	}
 
 	/**
@@ -0,0 +1,180 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.ConcurrentModificationException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.ArrayBSTree;
+import implementations.BSTree;
+import utilities.Iterator;
+
+/**
+ * Class Description: Tests for the array-backed implementation of the
+ * BSTreeADT.
+ */
+public class ArrayBSTreeTest
+{
+	// Attributes
+	private ArrayBSTree<Integer> tree;
+
+	/**
+	 * Initializes a new ArrayBSTree instance and adds seven elements before each
+	 * test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new ArrayBSTree<Integer>();
+		tree.add( 44 );
+		tree.add( 22 );
+		tree.add( 66 );
+		tree.add( 11 );
+		tree.add( 33 );
+		tree.add( 55 );
+		tree.add( 77 );
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.ArrayBSTree#add(java.lang.Comparable)}
+	 * and {@link implementations.ArrayBSTree#search(java.lang.Comparable)}.
+	 */
+	@Test
+	public void testAddSearch()
+	{
+		assertFalse( "Failed to reject duplicate.", tree.add( 33 ) );
+		assertEquals( "Failed to update size correctly.", 7, tree.size() );
+		assertEquals( "Failed to return correct height.", 3, tree.getHeight() );
+		assertEquals( "Failed to return root.", 44, (int) tree.getRoot().getElement() );
+		assertEquals( "Failed to find element.", 55, (int) tree.search( 55 ).getElement() );
+		assertNull( "Failed to return null.", tree.search( 56 ) );
+		assertTrue( tree.contains( 11 ) );
+	}
+
+	/**
+	 * Test method for the in-order, pre-order and post-order iterators.
+	 */
+	@Test
+	public void testIterators()
+	{
+		int[] inorder = { 11, 22, 33, 44, 55, 66, 77 };
+		int[] preorder = { 44, 22, 11, 33, 66, 55, 77 };
+		int[] postorder = { 11, 33, 22, 55, 77, 66, 44 };
+		Iterator<Integer> in = tree.inorderIterator();
+		Iterator<Integer> pre = tree.preorderIterator();
+		Iterator<Integer> post = tree.postorderIterator();
+		for( int i = 0; i < inorder.length; i++ )
+		{
+			assertEquals( "In-order iterator is out of order.", inorder[i], (int) in.next() );
+			assertEquals( "Pre-order iterator is out of order.", preorder[i], (int) pre.next() );
+			assertEquals( "Post-order iterator is out of order.", postorder[i], (int) post.next() );
+		}
+		assertFalse( in.hasNext() );
+		assertFalse( pre.hasNext() );
+		assertFalse( post.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ArrayBSTree#removeMin()} and
+	 * {@link implementations.ArrayBSTree#removeMax()} with the freed slots used
+	 * again by later adds.
+	 */
+	@Test
+	public void testRemoveAndAddAgain()
+	{
+		assertEquals( "Failed to return minimum value.", 11, (int) tree.removeMin().getElement() );
+		assertEquals( "Failed to remove the maximum value.", 77, (int) tree.removeMax().getElement() );
+		assertEquals( "Failed to update size.", 5, tree.size() );
+		assertFalse( tree.contains( 11 ) );
+
+		tree.add( 10 );
+		tree.add( 80 );
+		tree.add( 45 );
+		Iterator<Integer> it = tree.inorderIterator();
+		int[] expected = { 10, 22, 33, 44, 45, 55, 66, 80 };
+		for( int value : expected )
+		{
+			assertEquals( "In-order iterator is out of order.", value, (int) it.next() );
+		}
+		assertFalse( it.hasNext() );
+
+		tree.clear();
+		assertTrue( tree.isEmpty() );
+		assertNull( "Failed to return null.", tree.removeMin() );
+		assertEquals( 0, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ArrayBSTree#add(java.lang.Comparable)}
+	 * to grow the arrays and keep the tree balanced in AVL mode.
+	 */
+	@Test
+	public void testAdd_Balanced()
+	{
+		tree = new ArrayBSTree<Integer>( BSTree.BalanceMode.AVL );
+		for( int i = 0; i < 1023; i++ )
+		{
+			assertTrue( tree.add( i ) );
+		}
+		assertEquals( "Failed to keep the tree balanced.", 10, tree.getHeight() );
+		for( int i = 1022; i >= 512; i-- )
+		{
+			assertEquals( i, (int) tree.removeMax().getElement() );
+		}
+		assertEquals( 512, tree.size() );
+		assertTrue( "Failed to keep the tree balanced.", tree.getHeight() <= 10 );
+	}
+
+	/**
+	 * Test method for {@link implementations.ArrayBSTree#add(java.lang.Comparable)},
+	 * {@link implementations.ArrayBSTree#removeMin()} and
+	 * {@link implementations.ArrayBSTree#removeMax()} on a plain tree deeper than
+	 * recursion could handle.
+	 */
+	@Test
+	public void testAdd_SortedInputDeepTree()
+	{
+		tree = new ArrayBSTree<Integer>();
+		for( int i = 0; i < 25000; i++ )
+		{
+			assertTrue( "Failed to add element.", tree.add( i ) );
+		}
+		assertEquals( "Sorted input should make a chain.", 25000, tree.getHeight() );
+		assertFalse( "Failed to reject duplicate.", tree.add( 24999 ) );
+		assertEquals( "Failed to find deepest element.", 24999, (int) tree.search( 24999 ).getElement() );
+		assertEquals( "Failed to remove deepest element.", 24999, (int) tree.removeMax().getElement() );
+		assertEquals( "Failed to update height correctly.", 24999, tree.getHeight() );
+		assertEquals( "Failed to return minimum value.", 0, (int) tree.removeMin().getElement() );
+		assertEquals( "Failed to update height correctly.", 24998, tree.getHeight() );
+		assertEquals( "Failed to update size.", 24998, tree.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ArrayBSTree#inorderIterator()} to
+	 * throw once the tree was changed.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testInorderIterator_ConcurrentModification()
+	{
+		Iterator<Integer> it = tree.inorderIterator();
+		it.next();
+		tree.removeMin();
+		it.next();
+	}
+}
@@ -2,6 +2,12 @@ package unitTests;
 
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ConcurrentModificationException;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -240,6 +246,17 @@ public class BSTreeTest
 
 	}
 
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#contains(java.larng.Comparable)} to return
+	 * false when the tree is empty.
+	 */
+	@Test
+	public void testContainsForEmpty()
+	{
+		assertFalse( "Failed to return false.", tree.contains( one ) );
+	}
+
 	/**
 	 * Test method for
 	 * {@link implementations.BSTree#contains(java.larng.Comparable)} to throw a
@@ -466,6 +483,31 @@ public class BSTreeTest
 		assertEquals( "Failed to return the correct in-order iterator.", true, actual );
 	}
 
+	/**
+	 * Test method for {@link implementations.BSTree#inorderIterator()} to throw
+	 * ConcurrentModificationException when the tree changes during iteration.
+	 */
+	@Test
+	public void testInorderIterator_ConcurrentModification()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+
+		Iterator<Integer> it = tree.inorderIterator();
+		assertEquals( "Failed to return the smallest element first.", two, it.next() );
+		tree.add( one );
+		try
+		{
+			it.next();
+			fail( "Failed to throw ConcurrentModificationException." );
+		}
+		catch( ConcurrentModificationException e )
+		{
+			assertTrue( true );
+		}
+	}
+
 	/**
 	 * Test method for {@link implementations.BSTree#postorderIterator()} to return
 	 * an iterator to iterate over the tree using the post-order traversal.
@@ -526,6 +568,33 @@ public class BSTreeTest
 		assertEquals( "Preorder iterator is out of order ", true, actual );
 	}
 
+	/**
+	 * Test method for {@link implementations.BSTree#preorderIterator()} and
+	 * {@link implementations.BSTree#postorderIterator()} to visit nodes that only
+	 * have one child in the correct order.
+	 */
+	@Test
+	public void testPreorderPostorderIterator_OneChildNodes()
+	{
+		tree.add( three );
+		tree.add( one );
+		tree.add( two );
+		tree.add( five );
+		tree.add( four );
+
+		Integer[] preorder = { three, one, two, five, four };
+		Integer[] postorder = { two, one, four, five, three };
+		Iterator<Integer> pre = tree.preorderIterator();
+		Iterator<Integer> post = tree.postorderIterator();
+		for( int i = 0; i < preorder.length; i++ )
+		{
+			assertEquals( "Preorder iterator is out of order ", preorder[i], pre.next() );
+			assertEquals( "Postorder iterator is out of order ", postorder[i], post.next() );
+		}
+		assertFalse( "Preorder iterator has too many elements.", pre.hasNext() );
+		assertFalse( "Postorder iterator has too many elements.", post.hasNext() );
+	}
+
 	/**
 	 * Test method for {@link implementations.BSTree#size()} to return the size of a
 	 * non-empty tree.
@@ -607,4 +676,579 @@ public class BSTreeTest
 	{
 		assertNull( "Failed to return maximum value.", tree.removeMax() );
 	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(java.lang.Comparable)} to
+	 * keep an AVL tree balanced when items are added in sorted order.
+	 */
+	@Test
+	public void testAddBalanced_SortedInput()
+	{
+		tree = new BSTree<Integer>( BSTree.BalanceMode.AVL );
+		tree.add( one );
+		tree.add( two );
+		tree.add( three );
+		tree.add( four );
+		tree.add( five );
+		tree.add( six );
+		tree.add( seven );
+
+		Integer[] shouldBe = { four, two, one, three, six, five, seven };
+		Iterator<Integer> it = tree.preorderIterator();
+		int i = 0;
+		boolean actual = true;
+		while( it.hasNext() )
+		{
+			if( it.next() != shouldBe[i++] )
+			{
+				actual = false;
+			}
+		}
+
+		assertEquals( "Preorder iterator shows an unbalanced shape ", true, actual );
+		assertEquals( "Failed to update size correctly.", 7, tree.size() );
+		assertEquals( "Failed to return correct height.", 3, tree.getHeight() );
+		assertFalse( "Failed to reject duplicate.", tree.add( four ) );
+		assertEquals( "Duplicate changed the size.", 7, tree.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#removeMin()} and
+	 * {@link implementations.BSTree#removeMax()} to rebalance an AVL tree.
+	 */
+	@Test
+	public void testRemoveBalanced()
+	{
+		tree = new BSTree<Integer>( BSTree.BalanceMode.AVL );
+		for( int i = 1; i <= 15; i++ )
+		{
+			tree.add( i );
+		}
+		assertEquals( "Failed to return correct height.", 4, tree.getHeight() );
+
+		for( int i = 1; i <= 6; i++ )
+		{
+			assertEquals( "Failed to return minimum value.", i, (int) tree.removeMin().getElement() );
+		}
+		assertEquals( "Failed to remove the maximum value.", 15, (int) tree.removeMax().getElement() );
+
+		assertEquals( "Failed to update size.", 8, tree.size() );
+		assertEquals( "Failed to rebalance after removal.", 4, tree.getHeight() );
+		assertFalse( tree.contains( 6 ) );
+		assertTrue( tree.contains( 7 ) );
+		assertTrue( tree.contains( 14 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#removeMin()} to keep the
+	 * right subtree and update the height when the root is the minimum.
+	 */
+	@Test
+	public void testRemoveMin_RootWithRightSubtree()
+	{
+		tree.add( one );
+		tree.add( three );
+		tree.add( two );
+		tree.add( four );
+
+		int actual = tree.removeMin().getElement();
+		assertEquals( "Failed to return minimum value.", 11, actual );
+		assertEquals( "Failed to update size.", 3, tree.size() );
+		assertEquals( "Failed to update height.", 2, tree.getHeight() );
+		assertEquals( "Failed to promote the right subtree.", 33, (int) tree.getRoot().getElement() );
+		assertTrue( tree.contains( two ) );
+		assertTrue( tree.contains( four ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#removeMax()} to update the
+	 * height of an ill-balanced tree.
+	 */
+	@Test
+	public void testRemoveMax_Height()
+	{
+		tree.add( one );
+		tree.add( two );
+		tree.add( three );
+		tree.add( four );
+
+		tree.removeMax();
+		assertEquals( "Failed to update height.", 3, tree.getHeight() );
+		tree.removeMax();
+		tree.removeMax();
+		assertEquals( "Failed to update height.", 1, tree.getHeight() );
+		tree.removeMax();
+		assertEquals( "Failed to update height.", 0, tree.getHeight() );
+		assertTrue( tree.isEmpty() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#select(int)} to return the
+	 * element at each position of the natural ordering.
+	 */
+	@Test
+	public void testSelect()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+		tree.add( three );
+		tree.add( seven );
+		tree.removeMin();
+
+		Integer[] shouldBe = { two, three, four, five, six, seven };
+		for( int i = 0; i < shouldBe.length; i++ )
+		{
+			assertEquals( "Failed to select the correct element.", shouldBe[i], tree.select( i ).getElement() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#select(int)} to throw
+	 * IndexOutOfBoundsException for a position outside the tree.
+	 */
+	@Test
+	public void testSelect_IndexOutOfBoundsException()
+	{
+		tree.add( one );
+		try
+		{
+			tree.select( 1 );
+			fail( "Failed to throw IndexOutOfBoundsException." );
+		}
+		catch( IndexOutOfBoundsException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#rank(java.lang.Comparable)} to
+	 * count the smaller elements of a balanced tree, present or not.
+	 */
+	@Test
+	public void testRank()
+	{
+		tree = new BSTree<Integer>( BSTree.BalanceMode.AVL );
+		tree.add( one );
+		tree.add( two );
+		tree.add( three );
+		tree.add( four );
+		tree.add( six );
+		tree.add( seven );
+		tree.removeMax();
+
+		assertEquals( "Failed to rank the minimum.", 0, tree.rank( one ) );
+		assertEquals( "Failed to rank an element.", 3, tree.rank( four ) );
+		assertEquals( "Failed to rank a missing element.", 4, tree.rank( five ) );
+		assertEquals( "Failed to rank a removed element.", 5, tree.rank( seven ) );
+		assertEquals( "Failed to rank below the minimum.", 0, tree.rank( 0 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#floor(java.lang.Comparable)},
+	 * {@link implementations.BSTree#ceiling(java.lang.Comparable)},
+	 * {@link implementations.BSTree#higher(java.lang.Comparable)} and
+	 * {@link implementations.BSTree#lower(java.lang.Comparable)} to find the
+	 * closest elements.
+	 */
+	@Test
+	public void testFloorCeilingHigherLower()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+
+		assertEquals( "Failed to return floor.", four, tree.floor( 50 ).getElement() );
+		assertEquals( "Failed to return exact floor.", four, tree.floor( four ).getElement() );
+		assertNull( "Failed to return null floor.", tree.floor( 10 ) );
+		assertEquals( "Failed to return ceiling.", six, tree.ceiling( 50 ).getElement() );
+		assertEquals( "Failed to return exact ceiling.", two, tree.ceiling( two ).getElement() );
+		assertNull( "Failed to return null ceiling.", tree.ceiling( 70 ) );
+		assertEquals( "Failed to return higher.", six, tree.higher( four ).getElement() );
+		assertNull( "Failed to return null higher.", tree.higher( six ) );
+		assertEquals( "Failed to return lower.", one, tree.lower( two ).getElement() );
+		assertNull( "Failed to return null lower.", tree.lower( one ) );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#rangeIterator(java.lang.Comparable, java.lang.Comparable)}
+	 * to return only the elements inside the range in natural order.
+	 */
+	@Test
+	public void testRangeIterator()
+	{
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( five );
+		tree.add( three );
+		tree.add( seven );
+
+		Integer[] shouldBe = { three, four, five };
+		Iterator<Integer> it = tree.rangeIterator( 30, six );
+		int i = 0;
+		while( it.hasNext() )
+		{
+			assertEquals( "Range iterator is out of order ", shouldBe[i++], it.next() );
+		}
+		assertEquals( "Range iterator returned the wrong count.", shouldBe.length, i );
+		assertFalse( "Empty range returned elements.", tree.rangeIterator( 12, 20 ).hasNext() );
+		assertFalse( "Empty tree returned elements.", new BSTree<Integer>().rangeIterator( one, seven ).hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#fromSorted(Comparable[])} to
+	 * build a perfectly balanced tree from sorted input.
+	 */
+	@Test
+	public void testFromSorted()
+	{
+		Integer[] sorted = { one, two, three, four, five, six, seven };
+		tree = BSTree.fromSorted( sorted );
+
+		Integer[] shouldBe = { four, two, one, three, six, five, seven };
+		Iterator<Integer> it = tree.preorderIterator();
+		for( int i = 0; i < shouldBe.length; i++ )
+		{
+			assertEquals( "Preorder iterator shows an unbalanced shape ", shouldBe[i], it.next() );
+		}
+		assertEquals( "Failed to update size correctly.", 7, tree.size() );
+		assertEquals( "Failed to return correct height.", 3, tree.getHeight() );
+		assertEquals( "Failed to update subtree sizes.", six, tree.select( 5 ).getElement() );
+
+		BSTree<Integer> copy = BSTree.fromSorted( tree.inorderIterator() );
+		assertEquals( "Failed to copy from an iterator.", 7, copy.size() );
+		assertTrue( "Failed to add after loading.", copy.add( 88 ) );
+		assertEquals( "Failed to update height after loading.", 4, copy.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#fromSorted(java.util.List)} to
+	 * throw IllegalArgumentException when the input is not strictly increasing.
+	 */
+	@Test
+	public void testFromSorted_IllegalArgumentException()
+	{
+		try
+		{
+			BSTree.fromSorted( java.util.Arrays.asList( one, three, three ) );
+			fail( "Failed to throw IllegalArgumentException." );
+		}
+		catch( IllegalArgumentException e )
+		{
+			assertTrue( true );
+		}
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#merge(implementations.BSTree, java.util.function.BinaryOperator)}
+	 * to combine two trees into one balanced tree.
+	 */
+	@Test
+	public void testMerge()
+	{
+		tree.add( one );
+		tree.add( three );
+		tree.add( five );
+		tree.add( seven );
+		BSTree<Integer> other = new BSTree<Integer>();
+		other.add( two );
+		other.add( three );
+		other.add( four );
+		other.add( six );
+
+		Integer[] combined = new Integer[1];
+		tree.merge( other, ( mine, theirs ) -> {
+			combined[0] = theirs;
+			return mine;
+		} );
+
+		Integer[] shouldBe = { one, two, three, four, five, six, seven };
+		Iterator<Integer> it = tree.inorderIterator();
+		for( int i = 0; i < shouldBe.length; i++ )
+		{
+			assertEquals( "Merged tree is out of order ", shouldBe[i], it.next() );
+		}
+		assertFalse( "Merged tree has too many elements.", it.hasNext() );
+		assertEquals( "Failed to combine equal elements.", three, combined[0] );
+		assertEquals( "Failed to update size correctly.", 7, tree.size() );
+		assertEquals( "Failed to rebuild balanced.", 3, tree.getHeight() );
+		assertEquals( "Other tree should be unchanged.", 4, other.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#search(java.lang.Comparable)}
+	 * in splay mode to move the found node to the root.
+	 */
+	@Test
+	public void testSplaySearch()
+	{
+		tree = new BSTree<Integer>( BSTree.BalanceMode.SPLAY );
+		tree.add( four );
+		tree.add( two );
+		tree.add( six );
+		tree.add( one );
+		tree.add( three );
+		tree.add( five );
+		tree.add( seven );
+		assertEquals( "Failed to splay added node to root.", seven, tree.getRoot().getElement() );
+
+		BSTreeNode<Integer> found = tree.search( three );
+		assertEquals( "Failed to find element.", three, found.getElement() );
+		assertSame( "Failed to splay found node to root.", found, tree.getRoot() );
+		assertNull( "Found missing element.", tree.search( 88 ) );
+		assertEquals( "Failed to splay last node reached to root.", seven, tree.getRoot().getElement() );
+		assertTrue( "Failed to find element.", tree.contains( one ) );
+		assertEquals( "Failed to splay found node to root.", one, tree.getRoot().getElement() );
+
+		Iterator<Integer> it = tree.inorderIterator();
+		for( int i = 1; i <= 7; i++ )
+		{
+			assertEquals( "Splayed tree is out of order ", Integer.valueOf( 11 * i ), it.next() );
+		}
+		assertEquals( "Failed to keep size correct.", 7, tree.size() );
+		assertEquals( "Failed to keep subtree sizes correct.", four, tree.select( 3 ).getElement() );
+		assertEquals( "Failed to keep subtree sizes correct.", 5, tree.rank( six ) );
+		assertFalse( "Added duplicate.", tree.add( five ) );
+		assertEquals( "Failed to splay duplicate to root.", five, tree.getRoot().getElement() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#search(java.lang.Comparable)}
+	 * in splay mode on the degenerate tree made by sorted input.
+	 */
+	@Test
+	public void testSplaySearch_SortedInput()
+	{
+		tree = new BSTree<Integer>( BSTree.BalanceMode.SPLAY );
+		for( int i = 0; i < 100000; i++ )
+		{
+			tree.add( i );
+		}
+		assertEquals( "Sorted input should make a chain.", 100000, tree.getHeight() );
+
+		assertEquals( "Failed to find element.", Integer.valueOf( 0 ), tree.search( 0 ).getElement() );
+		assertEquals( "Failed to splay found node to root.", Integer.valueOf( 0 ), tree.getRoot().getElement() );
+		assertTrue( "Splaying the deepest node should roughly halve the height.", tree.getHeight() < 50010 );
+		assertEquals( "Failed to keep subtree sizes correct.", Integer.valueOf( 54321 ), tree.select( 54321 ).getElement() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#removeMin()} and
+	 * {@link implementations.BSTree#removeMax()} in splay mode.
+	 */
+	@Test
+	public void testSplayRemove()
+	{
+		tree = new BSTree<Integer>( BSTree.BalanceMode.SPLAY );
+		tree.add( four );
+		tree.add( one );
+		tree.add( seven );
+		tree.add( three );
+		tree.add( five );
+		tree.add( two );
+		tree.add( six );
+
+		assertEquals( "Failed to remove smallest element.", one, tree.removeMin().getElement() );
+		assertEquals( "Failed to remove largest element.", seven, tree.removeMax().getElement() );
+		assertEquals( "Failed to remove smallest element.", two, tree.removeMin().getElement() );
+		assertEquals( "Failed to update size correctly.", 4, tree.size() );
+		assertEquals( "Failed to keep subtree sizes correct.", five, tree.select( 2 ).getElement() );
+		assertTrue( "Failed to update height correctly.", tree.getHeight() >= 3 && tree.getHeight() <= 4 );
+		while( !tree.isEmpty() )
+		{
+			tree.removeMax();
+		}
+		assertNull( "Failed to return null on empty tree.", tree.removeMin() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#inorderIterator()} to fail
+	 * fast when a splaying search restructures the tree.
+	 */
+	@Test(expected = ConcurrentModificationException.class)
+	public void testSplaySearch_ConcurrentModificationException()
+	{
+		tree = new BSTree<Integer>( BSTree.BalanceMode.SPLAY );
+		tree.add( one );
+		tree.add( two );
+		tree.add( three );
+		Iterator<Integer> it = tree.inorderIterator();
+		it.next();
+		tree.search( one );
+		it.next();
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(java.lang.Comparable)}
+	 * in scapegoat mode to keep sorted input within the depth limit.
+	 */
+	@Test
+	public void testAddScapegoat_SortedInput()
+	{
+		tree = new BSTree<Integer>( BSTree.BalanceMode.SCAPEGOAT, 1.5 );
+		for( int i = 1; i <= 10000; i++ )
+		{
+			assertTrue( "Failed to add element.", tree.add( i ) );
+			int limit = (int) ( 1.5 * ( Math.log( i ) / Math.log( 2 ) ) ) + 1;
+			assertTrue( "Failed to stay within the depth limit.", tree.getHeight() <= limit );
+		}
+		assertFalse( "Added duplicate.", tree.add( 5000 ) );
+		assertEquals( "Failed to update size correctly.", 10000, tree.size() );
+		assertEquals( "Failed to keep subtree sizes correct.", Integer.valueOf( 1235 ), tree.select( 1234 ).getElement() );
+
+		Iterator<Integer> it = tree.inorderIterator();
+		for( int i = 1; i <= 10000; i++ )
+		{
+			assertEquals( "Scapegoat tree is out of order ", Integer.valueOf( i ), it.next() );
+		}
+		assertFalse( "Scapegoat tree has too many elements.", it.hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(java.lang.Comparable)}
+	 * in scapegoat mode with an alpha of 1, which keeps the tree perfectly
+	 * balanced.
+	 */
+	@Test
+	public void testAddScapegoat_PerfectlyBalanced()
+	{
+		tree = new BSTree<Integer>( BSTree.BalanceMode.SCAPEGOAT, 1.0 );
+		for( int i = 1; i <= 1000; i++ )
+		{
+			tree.add( i );
+			assertEquals( "Failed to keep tree perfectly balanced.", 32 - Integer.numberOfLeadingZeros( i ), tree.getHeight() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#removeMin()} and
+	 * {@link implementations.BSTree#removeMax()} in scapegoat mode to rebuild once
+	 * the tree is too tall for the elements left.
+	 */
+	@Test
+	public void testRemoveScapegoat()
+	{
+		tree = new BSTree<Integer>( BSTree.BalanceMode.SCAPEGOAT, 1.0 );
+		for( int i = 1; i <= 127; i++ )
+		{
+			tree.add( i );
+		}
+		for( int i = 1; i <= 60; i++ )
+		{
+			assertEquals( "Failed to remove smallest element.", Integer.valueOf( i ), tree.removeMin().getElement() );
+			assertEquals( "Failed to remove largest element.", Integer.valueOf( 128 - i ), tree.removeMax().getElement() );
+		}
+		assertEquals( "Failed to update size correctly.", 7, tree.size() );
+		assertEquals( "Failed to rebuild after removals.", 3, tree.getHeight() );
+		assertEquals( "Failed to keep subtree sizes correct.", Integer.valueOf( 64 ), tree.select( 3 ).getElement() );
+	}
+
+	/**
+	 * Test method for
+	 * {@link implementations.BSTree#BSTree(implementations.BSTree.BalanceMode, double)}
+	 * to reject an alpha below 1.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testScapegoat_IllegalArgumentException()
+	{
+		tree = new BSTree<Integer>( BSTree.BalanceMode.SCAPEGOAT, 0.75 );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(java.lang.Comparable)}
+	 * and {@link implementations.BSTree#search(java.lang.Comparable)} on a plain
+	 * tree deeper than recursion could handle.
+	 */
+	@Test
+	public void testAdd_SortedInputDeepTree()
+	{
+		for( int i = 0; i < 25000; i++ )
+		{
+			assertTrue( "Failed to add element.", tree.add( i ) );
+		}
+		assertEquals( "Sorted input should make a chain.", 25000, tree.getHeight() );
+		assertEquals( "Failed to find deepest element.", Integer.valueOf( 24999 ), tree.search( 24999 ).getElement() );
+		assertEquals( "Failed to remove deepest element.", Integer.valueOf( 24999 ), tree.removeMax().getElement() );
+		assertEquals( "Failed to update height correctly.", 24999, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#add(java.lang.Comparable)} of
+	 * one million sorted keys, searching, iterating and serializing the one
+	 * million node chain they make without overflowing the stack. Splay mode
+	 * builds the chain in linear time.
+	 * 
+	 * @throws Exception if serialization fails.
+	 */
+	@Test
+	public void testAdd_MillionSortedKeys() throws Exception
+	{
+		tree = new BSTree<Integer>( BSTree.BalanceMode.SPLAY );
+		for( int i = 0; i < 1000000; i++ )
+		{
+			tree.add( i );
+		}
+		assertEquals( "Sorted input should make a chain.", 1000000, tree.getHeight() );
+
+		Iterator<Integer> it = tree.postorderIterator();
+		for( int i = 0; i < 1000000; i++ )
+		{
+			assertEquals( "Postorder of the chain is out of order ", Integer.valueOf( i ), it.next() );
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( tree );
+		}
+		@SuppressWarnings( "unchecked" )
+		BSTree<Integer> copy = (BSTree<Integer>) new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ).readObject();
+		assertEquals( "Failed to keep height when serialized.", 1000000, copy.getHeight() );
+		assertEquals( "Failed to keep subtree sizes when serialized.", Integer.valueOf( 777777 ), copy.select( 777777 ).getElement() );
+
+		assertEquals( "Failed to find deepest element.", Integer.valueOf( 0 ), tree.search( 0 ).getElement() );
+		assertEquals( "Failed to remove smallest element.", Integer.valueOf( 0 ), tree.removeMin().getElement() );
+		assertEquals( "Failed to update size correctly.", 999999, tree.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#getOrAdd(java.lang.Comparable)}
+	 * to return the element already in the tree or add the new one.
+	 */
+	@Test
+	public void testGetOrAdd()
+	{
+		tree.add( four );
+		tree.add( two );
+		Integer equalToTwo = new Integer( 22 );
+		assertSame( "Failed to return existing element.", two, tree.getOrAdd( equalToTwo ) );
+		assertEquals( "Added duplicate.", 2, tree.size() );
+		assertSame( "Failed to add new element.", six, tree.getOrAdd( six ) );
+		assertEquals( "Failed to update size correctly.", 3, tree.size() );
+		assertTrue( "Failed to add new element.", tree.contains( six ) );
+
+		BSTree<Integer> splay = new BSTree<Integer>( BSTree.BalanceMode.SPLAY );
+		assertSame( "Failed to add to empty tree.", one, splay.getOrAdd( one ) );
+		splay.add( three );
+		assertSame( "Failed to return existing element.", one, splay.getOrAdd( new Integer( 11 ) ) );
+		assertEquals( "Added duplicate.", 2, splay.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BSTree#getOrAdd(java.lang.Comparable)}
+	 * to reject null.
+	 */
+	@Test(expected = NullPointerException.class)
+	public void testGetOrAdd_NullPointerException()
+	{
+		tree.getOrAdd( null );
+	}
 }
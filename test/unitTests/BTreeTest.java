@@ -0,0 +1,178 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.BTree;
+import utilities.Iterator;
+
+/**
+ * Class Description: Tests for the B-tree implementation of the BSTreeADT.
+ * Most tests use the smallest degree so nodes split and merge often.
+ */
+public class BTreeTest
+{
+	// Attributes
+	private BTree<Integer> tree;
+
+	/**
+	 * Initializes a new BTree instance of degree 2 and adds ten elements before
+	 * each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new BTree<Integer>( 2 );
+		for( int i = 1; i <= 10; i++ )
+		{
+			tree.add( i * 10 );
+		}
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.BTree#add(java.lang.Comparable)} and
+	 * {@link implementations.BTree#search(java.lang.Comparable)}.
+	 */
+	@Test
+	public void testAddSearch()
+	{
+		assertFalse( "Failed to reject duplicate.", tree.add( 40 ) );
+		assertEquals( "Failed to update size correctly.", 10, tree.size() );
+		assertEquals( "Failed to return correct height.", 3, tree.getHeight() );
+		assertEquals( "Failed to find element.", 70, (int) tree.search( 70 ).getElement() );
+		assertNull( "Failed to return null.", tree.search( 75 ) );
+		assertTrue( tree.contains( 100 ) );
+		assertFalse( tree.contains( 0 ) );
+	}
+
+	/**
+	 * Test method for the in-order, pre-order and post-order iterators. With
+	 * degree 2 the ten elements give the root [40], children [20] and [60, 80]
+	 * and leaves [10] [30] [50] [70] [90, 100].
+	 */
+	@Test
+	public void testIterators()
+	{
+		int[] inorder = { 10, 20, 30, 40, 50, 60, 70, 80, 90, 100 };
+		int[] preorder = { 40, 20, 10, 30, 60, 80, 50, 70, 90, 100 };
+		int[] postorder = { 10, 30, 20, 50, 70, 90, 100, 60, 80, 40 };
+		Iterator<Integer> in = tree.inorderIterator();
+		Iterator<Integer> pre = tree.preorderIterator();
+		Iterator<Integer> post = tree.postorderIterator();
+		for( int i = 0; i < inorder.length; i++ )
+		{
+			assertEquals( "In-order iterator is out of order.", inorder[i], (int) in.next() );
+			assertEquals( "Pre-order iterator is out of order.", preorder[i], (int) pre.next() );
+			assertEquals( "Post-order iterator is out of order.", postorder[i], (int) post.next() );
+		}
+		assertFalse( in.hasNext() );
+		assertFalse( pre.hasNext() );
+		assertFalse( post.hasNext() );
+
+		tree.clear();
+		assertFalse( "Empty tree gave elements.", tree.inorderIterator().hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.BTree#removeMin()} and
+	 * {@link implementations.BTree#removeMax()} down to an empty tree.
+	 */
+	@Test
+	public void testRemoveMinMax()
+	{
+		for( int i = 1; i <= 5; i++ )
+		{
+			assertEquals( "Failed to return minimum value.", i * 10, (int) tree.removeMin().getElement() );
+			assertEquals( "Failed to remove the maximum value.", 110 - i * 10, (int) tree.removeMax().getElement() );
+		}
+		assertTrue( tree.isEmpty() );
+		assertEquals( 0, tree.getHeight() );
+		assertNull( "Failed to return null.", tree.removeMin() );
+		assertNull( "Failed to return null.", tree.removeMax() );
+		assertTrue( "Failed to add after emptying.", tree.add( 5 ) );
+		assertEquals( 5, (int) tree.getRoot().getElement() );
+	}
+
+	/**
+	 * Test method for random adds and removes checked against TreeSet.
+	 */
+	@Test
+	public void testRandomAgainstTreeSet()
+	{
+		for( int degree = 2; degree <= 5; degree++ )
+		{
+			BTree<Integer> btree = new BTree<Integer>( degree );
+			TreeSet<Integer> expected = new TreeSet<Integer>();
+			Random random = new Random( degree );
+			for( int step = 0; step < 20000; step++ )
+			{
+				int choice = random.nextInt( 10 );
+				if( choice < 6 )
+				{
+					int value = random.nextInt( 5000 );
+					assertEquals( expected.add( value ), btree.add( value ) );
+				}
+				else if( choice < 8 )
+				{
+					Integer min = expected.pollFirst();
+					assertEquals( min, ( min == null ) ? null : btree.removeMin().getElement() );
+				}
+				else
+				{
+					Integer max = expected.pollLast();
+					assertEquals( max, ( max == null ) ? null : btree.removeMax().getElement() );
+				}
+				assertEquals( expected.size(), btree.size() );
+			}
+			Iterator<Integer> it = btree.inorderIterator();
+			for( Integer value : expected )
+			{
+				assertEquals( "In-order iterator is out of order.", value, it.next() );
+			}
+			assertFalse( it.hasNext() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.BTree#BTree(int)} to reject a degree
+	 * that is too small.
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testConstructor_IllegalArgumentException()
+	{
+		new BTree<Integer>( 1 );
+	}
+
+	/**
+	 * Test method for {@link implementations.BTree#inorderIterator()} to throw
+	 * once the tree was changed.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testInorderIterator_ConcurrentModification()
+	{
+		Iterator<Integer> it = tree.inorderIterator();
+		it.next();
+		tree.removeMax();
+		it.next();
+	}
+}
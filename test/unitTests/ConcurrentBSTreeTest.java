@@ -0,0 +1,414 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.BSTree;
+import implementations.ConcurrentBSTree;
+import utilities.Iterator;
+
+/**
+ * Class Description: Tests for the StampedLock implementation of the
+ * BSTreeADT, covering reads that a writer gets in the way of and stress tests
+ * with several threads working on one tree.
+ */
+public class ConcurrentBSTreeTest
+{
+	// Attributes
+	private static final int THREADS = 8;
+	private static final int PER_THREAD = 5000;
+	private ConcurrentBSTree<Key> tree;
+
+	/**
+	 * Key that counts its comparisons and can run an action once, in the middle
+	 * of the first search that compares it, to change the tree under that search.
+	 */
+	private static final class Key implements Comparable<Key>
+	{
+		private final int value;
+		private Runnable action;
+		private int comparisons;
+
+		Key( int value )
+		{
+			this.value = value;
+		}
+
+		Key( int value, Runnable action )
+		{
+			this.value = value;
+			this.action = action;
+		}
+
+		@Override
+		public int compareTo( Key other )
+		{
+			comparisons++;
+			Runnable once = action;
+			if( once != null )
+			{
+				action = null;
+				once.run();
+			}
+			return Integer.compare( value, other.value );
+		}
+	}
+
+	/**
+	 * Initializes a new AVL ConcurrentBSTree instance holding the keys 0 to 14
+	 * before each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new ConcurrentBSTree<Key>( BSTree.BalanceMode.AVL );
+		for( int i = 0; i < 15; i++ )
+		{
+			tree.add( new Key( i ) );
+		}
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Starts THREADS threads at the same moment, each running the task with its
+	 * own index, and waits for all of them.
+	 *
+	 * @param task work done by each thread
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private void runConcurrently( final IndexedTask task ) throws InterruptedException
+	{
+		final CountDownLatch start = new CountDownLatch( 1 );
+		Thread[] workers = new Thread[THREADS];
+		for( int t = 0; t < THREADS; t++ )
+		{
+			final int index = t;
+			workers[t] = new Thread( () -> {
+				try
+				{
+					start.await();
+				}
+				catch( InterruptedException e )
+				{
+					return;
+				}
+				task.run( index );
+			} );
+			workers[t].start();
+		}
+		start.countDown();
+		for( Thread worker : workers )
+		{
+			worker.join();
+		}
+	}
+
+	/**
+	 * Work done by one thread of a stress test.
+	 */
+	private interface IndexedTask
+	{
+		void run( int index );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#search(java.lang.Comparable)}
+	 * to keep the result of an optimistic read when no writer ran.
+	 */
+	@Test
+	public void testSearch_OptimisticRead()
+	{
+		Key probe = new Key( 0 );
+		assertEquals( "Failed to find element.", 0, tree.search( probe ).getElement().value );
+		assertEquals( "Searched more than once without a writer.", tree.getHeight(), probe.comparisons );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#contains(java.lang.Comparable)}
+	 * when a writer removes the element during the optimistic read, the read must
+	 * be run again under the read lock and see the removal.
+	 */
+	@Test
+	public void testContains_WriterDuringOptimisticRead()
+	{
+		Key probe = new Key( 0, () -> tree.removeMin() );
+		assertFalse( "Failed to see the removal made during the read.", tree.contains( probe ) );
+		// One comparison at the root before the removal, then 7, 3 and 1 again under the lock
+		assertEquals( "Failed to run the read again under the read lock.", 4, probe.comparisons );
+		assertEquals( "Failed to update size.", 14, tree.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#search(java.lang.Comparable)}
+	 * when a writer rotates the nodes the optimistic read is walking through, the
+	 * read must not follow the changed links and must be run again under the read
+	 * lock.
+	 */
+	@Test
+	public void testSearch_RotationDuringOptimisticRead()
+	{
+		int height = tree.getHeight();
+		// Adding 15 and 16 below 14 rotates the right spine the search is on
+		Key probe = new Key( 14, () -> {
+			tree.add( new Key( 15 ) );
+			tree.add( new Key( 16 ) );
+		} );
+		assertEquals( "Failed to find element.", 14, tree.search( probe ).getElement().value );
+		assertTrue( "Failed to run the read again under the read lock.", probe.comparisons > height );
+		assertEquals( "Failed to update size.", 17, tree.size() );
+
+		Key missing = new Key( 100, () -> {
+			tree.add( new Key( 17 ) );
+			tree.add( new Key( 18 ) );
+		} );
+		assertNull( "Failed to return null.", tree.search( missing ) );
+		assertTrue( tree.contains( new Key( 18 ) ) );
+	}
+
+	/**
+	 * Stress test for {@link implementations.ConcurrentBSTree#search(java.lang.Comparable)}
+	 * while a writer keeps rotating the tree by adding and removing keys above the
+	 * ones searched for, every search must end and find its key.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@Test
+	public void testSearch_ConcurrentWithRotations() throws InterruptedException
+	{
+		tree.clear();
+		final int stable = 1000;
+		for( int i = 0; i < stable; i++ )
+		{
+			tree.add( new Key( i ) );
+		}
+		final AtomicInteger wrong = new AtomicInteger();
+		final boolean[] done = new boolean[1];
+		Thread writer = new Thread( () -> {
+			for( int round = 0; round < 20; round++ )
+			{
+				for( int i = stable; i < 2 * stable; i++ )
+				{
+					tree.add( new Key( i ) );
+				}
+				for( int i = stable; i < 2 * stable; i++ )
+				{
+					tree.removeMax();
+				}
+			}
+			done[0] = true;
+		} );
+		Thread[] readers = new Thread[THREADS - 1];
+		for( int t = 0; t < readers.length; t++ )
+		{
+			final int index = t;
+			readers[t] = new Thread( () -> {
+				for( int i = 0; i < 50 * stable; i++ )
+				{
+					int key = ( i * 7919 + index ) % stable;
+					if( tree.search( new Key( key ) ) == null ) wrong.incrementAndGet();
+					if( tree.contains( new Key( -1 - key ) ) ) wrong.incrementAndGet();
+				}
+			} );
+		}
+		writer.start();
+		for( Thread reader : readers )
+		{
+			reader.start();
+		}
+		writer.join( 60000 );
+		for( Thread reader : readers )
+		{
+			reader.join( 60000 );
+			assertFalse( "Search did not end while the tree was rotated.", reader.isAlive() );
+		}
+		assertTrue( "Writer did not finish.", done[0] );
+		assertEquals( "Search gave a wrong result while the tree was rotated.", 0, wrong.get() );
+		assertEquals( "Failed to update size correctly.", stable, tree.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#search(java.lang.Comparable)}
+	 * when the optimistic read throws because a writer changed the tree under it,
+	 * the exception must not reach the caller.
+	 */
+	@Test
+	public void testSearch_TornOptimisticRead()
+	{
+		Key probe = new Key( 7, () -> {
+			tree.add( new Key( 15 ) );
+			throw new IllegalStateException( "Torn read" );
+		} );
+		assertEquals( "Failed to find element.", 7, tree.search( probe ).getElement().value );
+		assertEquals( "Failed to update size.", 16, tree.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#search(java.lang.Comparable)}
+	 * to hold the write lock in splay mode, a writer started during the search must
+	 * wait until the search has moved the found node to the root.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@Test
+	public void testSearch_SplayTakesWriteLock() throws InterruptedException
+	{
+		tree = new ConcurrentBSTree<Key>( BSTree.BalanceMode.SPLAY );
+		for( int i = 0; i < 15; i++ )
+		{
+			tree.add( new Key( i ) );
+		}
+		final Thread[] writer = new Thread[1];
+		final boolean[] blocked = new boolean[1];
+		Key probe = new Key( 3, () -> {
+			writer[0] = new Thread( () -> tree.add( new Key( 15 ) ) );
+			writer[0].start();
+			try
+			{
+				writer[0].join( 200 );
+			}
+			catch( InterruptedException e )
+			{
+				Thread.currentThread().interrupt();
+			}
+			blocked[0] = writer[0].isAlive();
+		} );
+
+		assertEquals( "Failed to find element.", 3, tree.search( probe ).getElement().value );
+		assertTrue( "Writer ran while a splay search held the tree.", blocked[0] );
+		writer[0].join();
+		assertEquals( "Failed to update size.", 16, tree.size() );
+		assertTrue( tree.contains( new Key( 15 ) ) );
+	}
+
+	/**
+	 * Stress test for {@link implementations.ConcurrentBSTree#search(java.lang.Comparable)}
+	 * in splay mode while other threads add, the tree must stay ordered.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@Test
+	public void testSearch_SplayConcurrentWithAdd() throws InterruptedException
+	{
+		tree = new ConcurrentBSTree<Key>( BSTree.BalanceMode.SPLAY );
+		final AtomicInteger missing = new AtomicInteger();
+		runConcurrently( index -> {
+			for( int i = 0; i < PER_THREAD; i++ )
+			{
+				int key = ( i * 7919 ) % PER_THREAD * THREADS + index;
+				tree.add( new Key( key ) );
+				if( tree.search( new Key( key ) ) == null ) missing.incrementAndGet();
+			}
+		} );
+
+		assertEquals( "Failed to find an added element.", 0, missing.get() );
+		assertEquals( "Failed to update size correctly.", THREADS * PER_THREAD, tree.size() );
+		Iterator<Key> it = tree.inorderIterator();
+		for( int i = 0; i < THREADS * PER_THREAD; i++ )
+		{
+			assertEquals( "In-order iterator is out of order ", i, it.next().value );
+		}
+		assertFalse( it.hasNext() );
+	}
+
+	/**
+	 * Stress test for {@link implementations.ConcurrentBSTree#getOrAdd(java.lang.Comparable)}
+	 * where every thread asks for equal keys, all threads must get back the one
+	 * key that was added.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@Test
+	public void testGetOrAdd_ConcurrentSameKeys() throws InterruptedException
+	{
+		tree.clear();
+		final Key[][] results = new Key[THREADS][PER_THREAD];
+		final AtomicInteger added = new AtomicInteger();
+		runConcurrently( index -> {
+			for( int i = 0; i < PER_THREAD; i++ )
+			{
+				// Interleaved so the threads race for the same keys
+				int key = ( i * 7919 + index ) % PER_THREAD;
+				Key mine = new Key( key );
+				Key found = tree.getOrAdd( mine );
+				if( found == mine ) added.incrementAndGet();
+				results[index][key] = found;
+			}
+		} );
+
+		assertEquals( "Keys were added more than once.", PER_THREAD, added.get() );
+		assertEquals( "Failed to update size correctly.", PER_THREAD, tree.size() );
+		for( int key = 0; key < PER_THREAD; key++ )
+		{
+			assertSame( "Threads got different keys back.", results[0][key], tree.search( new Key( key ) ).getElement() );
+			for( int t = 1; t < THREADS; t++ )
+			{
+				assertSame( "Threads got different keys back.", results[0][key], results[t][key] );
+			}
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.ConcurrentBSTree#inorderIterator()}
+	 * while another thread keeps adding keys in order, every iteration must be a
+	 * copy of one version of the tree and must not be changed by later adds.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@Test
+	public void testInorderIterator_ConcurrentWithAdd() throws InterruptedException
+	{
+		final int total = 15 + THREADS * PER_THREAD;
+		Thread writer = new Thread( () -> {
+			for( int i = 15; i < total; i++ )
+			{
+				tree.add( new Key( i ) );
+			}
+		} );
+		writer.start();
+
+		int previousSize = 0;
+		while( writer.isAlive() || previousSize < total )
+		{
+			Iterator<Key> it = tree.inorderIterator();
+			int seen = 0;
+			while( it.hasNext() )
+			{
+				assertEquals( "Snapshot is not one version of the tree.", seen, it.next().value );
+				seen++;
+			}
+			assertTrue( "Snapshot went back to an older version.", seen >= previousSize );
+			previousSize = seen;
+		}
+		writer.join();
+
+		Iterator<Key> pre = tree.preorderIterator();
+		Iterator<Key> post = tree.postorderIterator();
+		int count = 0;
+		while( pre.hasNext() )
+		{
+			pre.next();
+			post.next();
+			count++;
+		}
+		assertFalse( post.hasNext() );
+		assertEquals( "Failed to copy every element.", total, count );
+	}
+}
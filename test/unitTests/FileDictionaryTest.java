@@ -0,0 +1,159 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import word_tracker.FileDictionary;
+
+/**
+ * Class Description: Tests for the FileDictionary that numbers the file names
+ * of a repository.
+ */
+public class FileDictionaryTest
+{
+	// Attributes
+	private static final int THREADS = 8;
+	private static final int NAMES = 64;
+	private static final int PER_THREAD = 20000;
+	private FileDictionary dictionary;
+
+	/**
+	 * Initializes a new empty dictionary before each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		dictionary = new FileDictionary();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		dictionary = null;
+	}
+
+	/**
+	 * Test method for {@link word_tracker.FileDictionary#idOf(java.lang.String)}
+	 * and {@link word_tracker.FileDictionary#nameOf(int)}.
+	 */
+	@Test
+	public void testIdOf()
+	{
+		assertEquals( "Failed to give the first name id 0.", 0, dictionary.idOf( "test1.txt" ) );
+		assertEquals( "Failed to give the next name the next id.", 1, dictionary.idOf( "test2.txt" ) );
+		assertEquals( "Failed to keep the id of a name.", 0, dictionary.idOf( new String( "test1.txt" ) ) );
+		assertEquals( "Failed to keep the id of a name.", 1, dictionary.idOf( "test2.txt" ) );
+		assertEquals( "Failed to return the name of an id.", "test1.txt", dictionary.nameOf( 0 ) );
+		assertEquals( "Failed to return the name of an id.", "test2.txt", dictionary.nameOf( 1 ) );
+	}
+
+	/**
+	 * Test method for the saved form of {@link word_tracker.FileDictionary}, ids
+	 * must stay the same and new names must get the next id.
+	 *
+	 * @throws Exception if serialization fails
+	 */
+	@Test
+	public void testSerialization() throws Exception
+	{
+		dictionary.idOf( "test1.txt" );
+		dictionary.idOf( "test2.txt" );
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( dictionary );
+		}
+		FileDictionary copy;
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) ) )
+		{
+			copy = (FileDictionary) in.readObject();
+		}
+		assertEquals( "Failed to keep ids when serialized.", 1, copy.idOf( "test2.txt" ) );
+		assertEquals( "Failed to keep ids when serialized.", 0, copy.idOf( "test1.txt" ) );
+		assertEquals( "Failed to give the next id after being serialized.", 2, copy.idOf( "test3.txt" ) );
+	}
+
+	/**
+	 * Test method for {@link word_tracker.FileDictionary#idOf(java.lang.String)}
+	 * called from several threads at once, every thread must see the same id for
+	 * a name and every name must get its own id.
+	 *
+	 * @throws Exception if a thread is interrupted
+	 */
+	@Test
+	public void testIdOf_Concurrent() throws Exception
+	{
+		final String[] names = new String[NAMES];
+		for( int i = 0; i < NAMES; i++ )
+		{
+			names[i] = "file" + i + ".txt";
+		}
+		final int[][] seen = new int[THREADS][NAMES];
+		final AtomicInteger wrong = new AtomicInteger();
+		Thread[] threads = new Thread[THREADS];
+		for( int t = 0; t < THREADS; t++ )
+		{
+			final int thread = t;
+			threads[t] = new Thread( () -> {
+				Arrays.fill( seen[thread], -1 );
+				for( int i = 0; i < PER_THREAD; i++ )
+				{
+					// each thread walks the names in its own order
+					int name = ( i * ( 2 * thread + 1 ) ) % NAMES;
+					int id = dictionary.idOf( names[name] );
+					if( seen[thread][name] == -1 )
+					{
+						seen[thread][name] = id;
+					}
+					else if( seen[thread][name] != id )
+					{
+						wrong.incrementAndGet();
+					}
+					if( !names[name].equals( dictionary.nameOf( id ) ) )
+					{
+						wrong.incrementAndGet();
+					}
+				}
+			} );
+			threads[t].start();
+		}
+		for( Thread thread : threads )
+		{
+			thread.join();
+		}
+
+		assertEquals( "Failed to give a name one id across threads.", 0, wrong.get() );
+		boolean[] used = new boolean[NAMES];
+		for( int i = 0; i < NAMES; i++ )
+		{
+			int id = dictionary.idOf( names[i] );
+			for( int t = 0; t < THREADS; t++ )
+			{
+				if( seen[t][i] != -1 )
+				{
+					assertEquals( "Threads saw different ids for a name.", id, seen[t][i] );
+				}
+			}
+			assertTrue( "Failed to number names from 0.", id < NAMES );
+			assertFalse( "Failed to give every name its own id.", used[id] );
+			used[id] = true;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+import implementations.FrozenIntBSTree;
+import implementations.IntBSTree;
+import utilities.IntIterator;
+
+/**
+ * Class Description: Tests for the read-only Eytzinger layout made by
+ * IntBSTree.freeze().
+ */
+public class FrozenIntBSTreeTest
+{
+	/**
+	 * Builds a tree holding the even numbers from 0 up to, but not including,
+	 * 2 * n and freezes it.
+	 *
+	 * @param n number of keys
+	 * @return the frozen tree
+	 */
+	private FrozenIntBSTree frozenEvens( int n )
+	{
+		IntBSTree tree = new IntBSTree();
+		for( int i = 0; i < n; i++ )
+		{
+			tree.add( 2 * i );
+		}
+		return tree.freeze();
+	}
+
+	/**
+	 * Test method for {@link implementations.FrozenIntBSTree#contains(int)} and
+	 * {@link implementations.FrozenIntBSTree#rank(int)} for every key and every
+	 * gap, for every tree size up to one past a full level.
+	 */
+	@Test
+	public void testContainsRank_AllSizes()
+	{
+		for( int n = 0; n <= 70; n++ )
+		{
+			FrozenIntBSTree frozen = frozenEvens( n );
+			assertEquals( n, frozen.size() );
+			assertEquals( n == 0, frozen.isEmpty() );
+			for( int i = 0; i < n; i++ )
+			{
+				assertTrue( "Failed to find key.", frozen.contains( 2 * i ) );
+				assertFalse( "Failed to miss gap.", frozen.contains( 2 * i + 1 ) );
+				assertEquals( "Failed to rank key.", i, frozen.rank( 2 * i ) );
+				assertEquals( "Failed to rank gap.", i + 1, frozen.rank( 2 * i + 1 ) );
+			}
+			assertFalse( frozen.contains( -1 ) );
+			assertEquals( 0, frozen.rank( -1 ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.FrozenIntBSTree#contains(int)} and
+	 * {@link implementations.FrozenIntBSTree#rank(int)} with the smallest and
+	 * largest int keys.
+	 */
+	@Test
+	public void testContainsRank_Extremes()
+	{
+		IntBSTree tree = new IntBSTree();
+		tree.add( Integer.MAX_VALUE );
+		tree.add( 0 );
+		tree.add( Integer.MIN_VALUE );
+		FrozenIntBSTree frozen = tree.freeze();
+
+		assertTrue( frozen.contains( Integer.MIN_VALUE ) );
+		assertTrue( frozen.contains( Integer.MAX_VALUE ) );
+		assertFalse( frozen.contains( Integer.MAX_VALUE - 1 ) );
+		assertEquals( 0, frozen.rank( Integer.MIN_VALUE ) );
+		assertEquals( 2, frozen.rank( Integer.MAX_VALUE ) );
+		assertEquals( 2, frozen.rank( 1 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.FrozenIntBSTree#inorderIterator()}
+	 * for every tree size up to one past a full level.
+	 */
+	@Test
+	public void testInorderIterator_AllSizes()
+	{
+		for( int n = 0; n <= 70; n++ )
+		{
+			IntIterator it = frozenEvens( n ).inorderIterator();
+			for( int i = 0; i < n; i++ )
+			{
+				assertEquals( "In-order iterator is out of order.", 2 * i, it.next() );
+			}
+			assertFalse( it.hasNext() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.IntBSTree#freeze()} to not see
+	 * changes made to the tree afterwards.
+	 */
+	@Test
+	public void testFreeze_Copy()
+	{
+		IntBSTree tree = new IntBSTree();
+		tree.add( 22 );
+		tree.add( 11 );
+		FrozenIntBSTree frozen = tree.freeze();
+		tree.add( 33 );
+		tree.removeMin();
+
+		assertEquals( 2, frozen.size() );
+		assertTrue( frozen.contains( 11 ) );
+		assertFalse( frozen.contains( 33 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.FrozenIntBSTree#inorderIterator()}
+	 * to throw past the last key.
+	 */
+	@Test( expected = NoSuchElementException.class )
+	public void testInorderIterator_NoSuchElementException()
+	{
+		IntIterator it = frozenEvens( 3 ).inorderIterator();
+		for( int i = 0; i < 4; i++ )
+		{
+			it.next();
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+import implementations.FrozenLongBSTree;
+import implementations.LongBSTree;
+import utilities.LongIterator;
+
+/**
+ * Class Description: Tests for the read-only Eytzinger layout made by
+ * LongBSTree.freeze().
+ */
+public class FrozenLongBSTreeTest
+{
+	/**
+	 * Builds a tree holding the even numbers from 0 up to, but not including,
+	 * 2 * n and freezes it.
+	 *
+	 * @param n number of keys
+	 * @return the frozen tree
+	 */
+	private FrozenLongBSTree frozenEvens( int n )
+	{
+		LongBSTree tree = new LongBSTree();
+		for( int i = 0; i < n; i++ )
+		{
+			tree.add( 2 * i );
+		}
+		return tree.freeze();
+	}
+
+	/**
+	 * Test method for {@link implementations.FrozenLongBSTree#contains(long)} and
+	 * {@link implementations.FrozenLongBSTree#rank(long)} for every key and every
+	 * gap, for every tree size up to one past a full level.
+	 */
+	@Test
+	public void testContainsRank_AllSizes()
+	{
+		for( int n = 0; n <= 70; n++ )
+		{
+			FrozenLongBSTree frozen = frozenEvens( n );
+			assertEquals( n, frozen.size() );
+			assertEquals( n == 0, frozen.isEmpty() );
+			for( int i = 0; i < n; i++ )
+			{
+				assertTrue( "Failed to find key.", frozen.contains( 2 * i ) );
+				assertFalse( "Failed to miss gap.", frozen.contains( 2 * i + 1 ) );
+				assertEquals( "Failed to rank key.", i, frozen.rank( 2 * i ) );
+				assertEquals( "Failed to rank gap.", i + 1, frozen.rank( 2 * i + 1 ) );
+			}
+			assertFalse( frozen.contains( -1 ) );
+			assertEquals( 0, frozen.rank( -1 ) );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.FrozenLongBSTree#contains(long)} and
+	 * {@link implementations.FrozenLongBSTree#rank(long)} with the smallest and
+	 * largest long keys.
+	 */
+	@Test
+	public void testContainsRank_Extremes()
+	{
+		LongBSTree tree = new LongBSTree();
+		tree.add( Long.MAX_VALUE );
+		tree.add( 0 );
+		tree.add( Long.MIN_VALUE );
+		FrozenLongBSTree frozen = tree.freeze();
+
+		assertTrue( frozen.contains( Long.MIN_VALUE ) );
+		assertTrue( frozen.contains( Long.MAX_VALUE ) );
+		assertFalse( frozen.contains( Long.MAX_VALUE - 1 ) );
+		assertEquals( 0, frozen.rank( Long.MIN_VALUE ) );
+		assertEquals( 2, frozen.rank( Long.MAX_VALUE ) );
+		assertEquals( 2, frozen.rank( 1 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.FrozenLongBSTree#inorderIterator()}
+	 * for every tree size up to one past a full level.
+	 */
+	@Test
+	public void testInorderIterator_AllSizes()
+	{
+		for( int n = 0; n <= 70; n++ )
+		{
+			LongIterator it = frozenEvens( n ).inorderIterator();
+			for( int i = 0; i < n; i++ )
+			{
+				assertEquals( "In-order iterator is out of order.", 2 * i, it.next() );
+			}
+			assertFalse( it.hasNext() );
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.LongBSTree#freeze()} to not see
+	 * changes made to the tree afterwards.
+	 */
+	@Test
+	public void testFreeze_Copy()
+	{
+		LongBSTree tree = new LongBSTree();
+		tree.add( 22 );
+		tree.add( 11 );
+		FrozenLongBSTree frozen = tree.freeze();
+		tree.add( 33 );
+		tree.removeMin();
+
+		assertEquals( 2, frozen.size() );
+		assertTrue( frozen.contains( 11 ) );
+		assertFalse( frozen.contains( 33 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.FrozenLongBSTree#inorderIterator()}
+	 * to throw past the last key.
+	 */
+	@Test( expected = NoSuchElementException.class )
+	public void testInorderIterator_NoSuchElementException()
+	{
+		LongIterator it = frozenEvens( 3 ).inorderIterator();
+		for( int i = 0; i < 4; i++ )
+		{
+			it.next();
+		}
+	}
+}
@@ -0,0 +1,153 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.IntBSTree;
+import utilities.IntIterator;
+
+/**
+ * Class Description: Tests for the Binary Search Tree of primitive int keys.
+ */
+public class IntBSTreeTest
+{
+	// Attributes
+	private IntBSTree tree;
+
+	/**
+	 * Initializes a new IntBSTree instance and adds seven keys before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new IntBSTree();
+		tree.add( 44 );
+		tree.add( 22 );
+		tree.add( 66 );
+		tree.add( 11 );
+		tree.add( 33 );
+		tree.add( 55 );
+		tree.add( 77 );
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.IntBSTree#add(int)} and
+	 * {@link implementations.IntBSTree#search(int)}.
+	 */
+	@Test
+	public void testAddSearch()
+	{
+		assertFalse( "Failed to reject duplicate.", tree.add( 33 ) );
+		assertEquals( "Failed to update size correctly.", 7, tree.size() );
+		assertEquals( "Failed to return correct height.", 3, tree.getHeight() );
+		assertEquals( "Failed to return root.", 44, tree.getRoot().getElement() );
+		assertEquals( "Failed to find key.", 55, tree.search( 55 ).getElement() );
+		assertNull( "Failed to return null.", tree.search( 56 ) );
+		assertTrue( tree.contains( 11 ) );
+		assertFalse( tree.contains( -11 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.IntBSTree#add(int)} to keep the tree
+	 * balanced when keys arrive in order.
+	 */
+	@Test
+	public void testAdd_SortedInput()
+	{
+		tree.clear();
+		for( int i = 0; i < 1023; i++ )
+		{
+			tree.add( i );
+		}
+		assertEquals( "Failed to keep the tree balanced.", 10, tree.getHeight() );
+	}
+
+	/**
+	 * Test method for {@link implementations.IntBSTree#removeMin()} and
+	 * {@link implementations.IntBSTree#removeMax()}.
+	 */
+	@Test
+	public void testRemoveMinMax()
+	{
+		assertEquals( "Failed to return minimum value.", 11, tree.removeMin().getElement() );
+		assertEquals( "Failed to remove the maximum value.", 77, tree.removeMax().getElement() );
+		assertEquals( "Failed to update size.", 5, tree.size() );
+		assertFalse( tree.contains( 11 ) );
+
+		tree.clear();
+		assertNull( "Failed to return null.", tree.removeMin() );
+		assertNull( "Failed to return null.", tree.removeMax() );
+	}
+
+	/**
+	 * Test method for the in-order, pre-order and post-order iterators.
+	 */
+	@Test
+	public void testIterators()
+	{
+		int[] inorder = { 11, 22, 33, 44, 55, 66, 77 };
+		int[] preorder = { 44, 22, 11, 33, 66, 55, 77 };
+		int[] postorder = { 11, 33, 22, 55, 77, 66, 44 };
+		IntIterator in = tree.inorderIterator();
+		IntIterator pre = tree.preorderIterator();
+		IntIterator post = tree.postorderIterator();
+		for( int i = 0; i < inorder.length; i++ )
+		{
+			assertEquals( "In-order iterator is out of order.", inorder[i], in.next() );
+			assertEquals( "Pre-order iterator is out of order.", preorder[i], pre.next() );
+			assertEquals( "Post-order iterator is out of order.", postorder[i], post.next() );
+		}
+		assertFalse( in.hasNext() );
+		assertFalse( pre.hasNext() );
+		assertFalse( post.hasNext() );
+
+		tree.clear();
+		assertFalse( "Empty tree gave elements.", tree.inorderIterator().hasNext() );
+	}
+
+	/**
+	 * Test method for {@link implementations.IntBSTree#inorderIterator()} to
+	 * throw once the tree was changed.
+	 */
+	@Test( expected = ConcurrentModificationException.class )
+	public void testInorderIterator_ConcurrentModification()
+	{
+		IntIterator it = tree.inorderIterator();
+		it.next();
+		tree.add( 99 );
+		it.next();
+	}
+
+	/**
+	 * Test method for {@link implementations.IntBSTree#inorderIterator()} to
+	 * throw past the last key.
+	 */
+	@Test( expected = NoSuchElementException.class )
+	public void testInorderIterator_NoSuchElementException()
+	{
+		IntIterator it = tree.inorderIterator();
+		for( int i = 0; i < 8; i++ )
+		{
+			it.next();
+		}
+	}
+}
@@ -0,0 +1,211 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.BSTreeNode;
+import implementations.LockFreeBSTree;
+import utilities.Iterator;
+
+/**
+ * Class Description: Tests for the lock-free implementation of the BSTreeADT,
+ * including stress tests with several threads working on one tree.
+ */
+public class LockFreeBSTreeTest
+{
+	// Attributes
+	private static final int THREADS = 8;
+	private static final int PER_THREAD = 20000;
+	private LockFreeBSTree<Integer> tree;
+
+	/**
+	 * Initializes a new LockFreeBSTree instance before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new LockFreeBSTree<Integer>();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Starts THREADS threads at the same moment, each running the task with its
+	 * own index, and waits for all of them.
+	 * 
+	 * @param task work done by each thread
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private void runConcurrently( final IndexedTask task ) throws InterruptedException
+	{
+		final CountDownLatch start = new CountDownLatch( 1 );
+		Thread[] workers = new Thread[THREADS];
+		for( int t = 0; t < THREADS; t++ )
+		{
+			final int index = t;
+			workers[t] = new Thread( () -> {
+				try
+				{
+					start.await();
+				}
+				catch( InterruptedException e )
+				{
+					return;
+				}
+				task.run( index );
+			} );
+			workers[t].start();
+		}
+		start.countDown();
+		for( Thread worker : workers )
+		{
+			worker.join();
+		}
+	}
+
+	/**
+	 * Work done by one thread of a stress test.
+	 */
+	private interface IndexedTask
+	{
+		void run( int index );
+	}
+
+	/**
+	 * Test method for {@link implementations.LockFreeBSTree#add(java.lang.Comparable)}
+	 * to keep the tree ordered and the size exact when the same keys are added.
+	 */
+	@Test
+	public void testAdd_Single()
+	{
+		assertTrue( tree.add( 44 ) );
+		assertTrue( tree.add( 22 ) );
+		assertTrue( tree.add( 66 ) );
+		assertFalse( "Failed to reject duplicate.", tree.add( 22 ) );
+
+		assertEquals( "Failed to update size correctly.", 3, tree.size() );
+		// Elements sit in leaves below a routing node for each of them and the sentinel
+		assertEquals( "Failed to return correct height.", 4, tree.getHeight() );
+		assertEquals( "Failed to find element.", 66, (int) tree.search( 66 ).getElement() );
+		assertNull( "Failed to return null.", tree.search( 55 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.LockFreeBSTree#removeMin()} and
+	 * {@link implementations.LockFreeBSTree#add(java.lang.Comparable)} to bring
+	 * back a removed element.
+	 */
+	@Test
+	public void testRemoveAndAddAgain()
+	{
+		tree.add( 44 );
+		tree.add( 22 );
+		tree.add( 66 );
+
+		assertEquals( "Failed to return minimum value.", 22, (int) tree.removeMin().getElement() );
+		assertEquals( "Failed to remove the maximum value.", 66, (int) tree.removeMax().getElement() );
+		assertFalse( tree.contains( 22 ) );
+		assertEquals( "Failed to update size.", 1, tree.size() );
+
+		assertTrue( "Failed to add a removed element again.", tree.add( 22 ) );
+		assertTrue( tree.contains( 22 ) );
+		Iterator<Integer> it = tree.inorderIterator();
+		assertEquals( 22, (int) it.next() );
+		assertEquals( 44, (int) it.next() );
+		assertFalse( it.hasNext() );
+	}
+
+	/**
+	 * Stress test for {@link implementations.LockFreeBSTree#add(java.lang.Comparable)}
+	 * where every thread adds the same keys, each key must be added exactly once.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@Test
+	public void testAdd_ConcurrentSameKeys() throws InterruptedException
+	{
+		final AtomicInteger added = new AtomicInteger();
+		runConcurrently( index -> {
+			for( int i = 0; i < PER_THREAD; i++ )
+			{
+				// Interleaved so the threads fight over the same links
+				int key = ( i * 7919 + index ) % PER_THREAD;
+				if( tree.add( key ) )
+				{
+					added.incrementAndGet();
+				}
+			}
+		} );
+
+		assertEquals( "Keys were added more than once.", PER_THREAD, added.get() );
+		assertEquals( "Failed to update size correctly.", PER_THREAD, tree.size() );
+		Iterator<Integer> it = tree.inorderIterator();
+		for( int i = 0; i < PER_THREAD; i++ )
+		{
+			assertEquals( "In-order iterator is out of order ", i, (int) it.next() );
+		}
+		assertFalse( it.hasNext() );
+	}
+
+	/**
+	 * Stress test for {@link implementations.LockFreeBSTree#removeMin()} while
+	 * other threads keep adding, every element must be removed exactly once.
+	 * 
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@Test
+	public void testRemoveMin_ConcurrentWithAdd() throws InterruptedException
+	{
+		final boolean[] removed = new boolean[THREADS * PER_THREAD];
+		final AtomicInteger duplicates = new AtomicInteger();
+		runConcurrently( index -> {
+			for( int i = 0; i < PER_THREAD; i++ )
+			{
+				tree.add( ( i * 104729 ) % PER_THREAD * THREADS + index );
+				if( i % 2 == 1 )
+				{
+					BSTreeNode<Integer> node = tree.removeMin();
+					if( node != null )
+					{
+						synchronized( removed )
+						{
+							if( removed[node.getElement()] ) duplicates.incrementAndGet();
+							removed[node.getElement()] = true;
+						}
+					}
+				}
+			}
+		} );
+
+		BSTreeNode<Integer> node;
+		while( ( node = tree.removeMin() ) != null )
+		{
+			if( removed[node.getElement()] ) duplicates.incrementAndGet();
+			removed[node.getElement()] = true;
+		}
+
+		assertEquals( "An element was removed twice.", 0, duplicates.get() );
+		for( int i = 0; i < removed.length; i++ )
+		{
+			assertTrue( "Element " + i + " was lost.", removed[i] );
+		}
+		assertTrue( tree.isEmpty() );
+	}
+}
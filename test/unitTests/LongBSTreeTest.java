@@ -0,0 +1,67 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.LongBSTree;
+import utilities.LongIterator;
+
+/**
+ * Class Description: Tests for the Binary Search Tree of primitive long keys.
+ */
+public class LongBSTreeTest
+{
+	// Attributes
+	private LongBSTree tree;
+
+	/**
+	 * Initializes a new LongBSTree instance before each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new LongBSTree();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.LongBSTree#add(long)} with keys
+	 * outside the int range.
+	 */
+	@Test
+	public void testAdd_WideKeys()
+	{
+		long big = 1L << 40;
+		assertTrue( tree.add( big ) );
+		assertTrue( tree.add( big + 1 ) );
+		assertTrue( tree.add( Long.MIN_VALUE ) );
+		assertTrue( tree.add( 0 ) );
+		assertFalse( "Failed to reject duplicate.", tree.add( big ) );
+
+		assertEquals( "Failed to update size correctly.", 4, tree.size() );
+		assertTrue( tree.contains( big + 1 ) );
+		assertFalse( "Keys were truncated to int.", tree.contains( 1 ) );
+		assertEquals( "Failed to return minimum value.", Long.MIN_VALUE, tree.removeMin().getElement() );
+		assertEquals( "Failed to remove the maximum value.", big + 1, tree.removeMax().getElement() );
+
+		LongIterator it = tree.inorderIterator();
+		assertEquals( 0, it.next() );
+		assertEquals( big, it.next() );
+		assertFalse( it.hasNext() );
+	}
+}
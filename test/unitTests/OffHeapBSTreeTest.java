@@ -0,0 +1,142 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.OffHeapBSTree;
+import utilities.BinaryCodec;
+import utilities.Iterator;
+
+/**
+ * Class Description: Tests for the off-heap implementation of the BSTreeADT.
+ */
+public class OffHeapBSTreeTest
+{
+	// Attributes
+	private OffHeapBSTree<Integer> tree;
+
+	/**
+	 * Initializes a new OffHeapBSTree instance and adds seven elements before
+	 * each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new OffHeapBSTree<Integer>( BinaryCodec.INTEGER );
+		tree.add( 44 );
+		tree.add( 22 );
+		tree.add( 66 );
+		tree.add( 11 );
+		tree.add( 33 );
+		tree.add( 55 );
+		tree.add( 77 );
+	}
+
+	/**
+	 * Frees the memory of the tree after each test.
+	 * 
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree.close();
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.OffHeapBSTree#add(java.lang.Comparable)}
+	 * and {@link implementations.OffHeapBSTree#search(java.lang.Comparable)}.
+	 */
+	@Test
+	public void testAddSearch()
+	{
+		assertFalse( "Failed to reject duplicate.", tree.add( 33 ) );
+		assertEquals( "Failed to update size correctly.", 7, tree.size() );
+		assertEquals( "Failed to return correct height.", 3, tree.getHeight() );
+		assertEquals( "Failed to return root.", 44, (int) tree.getRoot().getElement() );
+		assertEquals( "Failed to find element.", 55, (int) tree.search( 55 ).getElement() );
+		assertNull( "Failed to return null.", tree.search( 56 ) );
+		assertTrue( tree.contains( 11 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.OffHeapBSTree#removeMin()},
+	 * {@link implementations.OffHeapBSTree#removeMax()} and the iterators.
+	 */
+	@Test
+	public void testRemoveAndIterate()
+	{
+		assertEquals( "Failed to return minimum value.", 11, (int) tree.removeMin().getElement() );
+		assertEquals( "Failed to remove the maximum value.", 77, (int) tree.removeMax().getElement() );
+
+		int[] inorder = { 22, 33, 44, 55, 66 };
+		Iterator<Integer> it = tree.inorderIterator();
+		for( int value : inorder )
+		{
+			assertEquals( "In-order iterator is out of order.", value, (int) it.next() );
+		}
+		assertFalse( it.hasNext() );
+		assertEquals( 44, (int) tree.preorderIterator().next() );
+		assertEquals( 33, (int) tree.postorderIterator().next() );
+	}
+
+	/**
+	 * Test method for {@link implementations.OffHeapBSTree#add(java.lang.Comparable)}
+	 * with variable length elements, enough removes to compact the element
+	 * buffer and enough adds to grow both buffers.
+	 */
+	@Test
+	public void testAdd_StringsGrowAndCompact()
+	{
+		OffHeapBSTree<String> words = new OffHeapBSTree<String>( BinaryCodec.STRING );
+		try
+		{
+			for( int round = 0; round < 5; round++ )
+			{
+				for( int i = 0; i < 2000; i++ )
+				{
+					words.add( "word-" + ( round * 2000 + i ) + "-\u00e9" );
+				}
+				while( words.size() > 100 )
+				{
+					words.removeMin();
+				}
+			}
+			assertEquals( 100, words.size() );
+			assertTrue( words.getHeight() <= 8 );
+
+			String previous = "";
+			Iterator<String> it = words.inorderIterator();
+			while( it.hasNext() )
+			{
+				String word = it.next();
+				assertTrue( "In-order iterator is out of order.", word.compareTo( previous ) > 0 );
+				assertTrue( "Element was damaged by compaction.", word.endsWith( "-\u00e9" ) );
+				assertTrue( words.contains( word ) );
+				previous = word;
+			}
+		}
+		finally
+		{
+			words.close();
+		}
+	}
+
+	/**
+	 * Test method for {@link implementations.OffHeapBSTree#close()} to stop the
+	 * tree from being used.
+	 */
+	@Test( expected = IllegalStateException.class )
+	public void testClose_IllegalStateException()
+	{
+		tree.close();
+		tree.close(); // Closing twice is allowed
+		tree.contains( 11 );
+	}
+}
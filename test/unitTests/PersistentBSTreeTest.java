@@ -0,0 +1,165 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.BSTree;
+import implementations.PersistentBSTree;
+import utilities.Iterator;
+
+/**
+ * Class Description: Tests for the persistent implementation of the BSTreeADT,
+ * checking that snapshots keep their version while the tree changes.
+ */
+public class PersistentBSTreeTest
+{
+	// Attributes
+	private PersistentBSTree<Integer> tree;
+
+	/**
+	 * Initializes a new PersistentBSTree instance before each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		tree = new PersistentBSTree<Integer>();
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		tree = null;
+	}
+
+	/**
+	 * Test method for {@link implementations.PersistentBSTree#snapshot()} to keep
+	 * its elements after the tree is changed.
+	 */
+	@Test
+	public void testSnapshot()
+	{
+		tree.add( 44 );
+		tree.add( 22 );
+		tree.add( 66 );
+		PersistentBSTree<Integer> snapshot = tree.snapshot();
+
+		tree.add( 11 );
+		assertEquals( "Failed to return minimum value.", 11, (int) tree.removeMin().getElement() );
+		assertEquals( "Failed to return minimum value.", 22, (int) tree.removeMin().getElement() );
+		assertEquals( "Failed to remove the maximum value.", 66, (int) tree.removeMax().getElement() );
+		assertEquals( "Failed to update size.", 1, tree.size() );
+
+		assertEquals( "Snapshot saw a later change.", 3, snapshot.size() );
+		assertEquals( 2, snapshot.getHeight() );
+		assertFalse( snapshot.contains( 11 ) );
+		Iterator<Integer> it = snapshot.inorderIterator();
+		assertEquals( 22, (int) it.next() );
+		assertEquals( 44, (int) it.next() );
+		assertEquals( 66, (int) it.next() );
+		assertFalse( it.hasNext() );
+
+		snapshot.clear();
+		assertTrue( "Clearing a snapshot changed the tree.", tree.contains( 44 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.PersistentBSTree#add(java.lang.Comparable)}
+	 * to reject duplicates and keep the tree balanced in AVL mode.
+	 */
+	@Test
+	public void testAdd_Balanced()
+	{
+		tree = new PersistentBSTree<Integer>( BSTree.BalanceMode.AVL );
+		for( int i = 1; i <= 1023; i++ )
+		{
+			assertTrue( tree.add( i ) );
+		}
+		assertFalse( "Failed to reject duplicate.", tree.add( 512 ) );
+		assertEquals( "Failed to update size correctly.", 1023, tree.size() );
+		assertEquals( "Failed to keep the tree balanced.", 10, tree.getHeight() );
+
+		for( int i = 1; i <= 500; i++ )
+		{
+			assertEquals( i, (int) tree.removeMin().getElement() );
+		}
+		assertTrue( "Failed to keep the tree balanced.", tree.getHeight() <= 11 );
+		assertEquals( 523, tree.size() );
+	}
+
+	/**
+	 * Test method for {@link implementations.PersistentBSTree#add(java.lang.Comparable)},
+	 * {@link implementations.PersistentBSTree#removeMin()} and
+	 * {@link implementations.PersistentBSTree#removeMax()} on a plain tree deeper
+	 * than recursion could handle, with a snapshot keeping the old chain.
+	 */
+	@Test
+	public void testAdd_SortedInputDeepTree()
+	{
+		assertEquals( "Failed to default to AVL mode.", BSTree.BalanceMode.AVL, tree.getBalanceMode() );
+		tree = new PersistentBSTree<Integer>( BSTree.BalanceMode.NONE );
+		for( int i = 0; i < 25000; i++ )
+		{
+			assertTrue( "Failed to add element.", tree.add( i ) );
+		}
+		assertEquals( "Sorted input should make a chain.", 25000, tree.getHeight() );
+		assertFalse( "Failed to reject duplicate.", tree.add( 24999 ) );
+		PersistentBSTree<Integer> snapshot = tree.snapshot();
+
+		assertEquals( "Failed to remove deepest element.", 24999, (int) tree.removeMax().getElement() );
+		assertEquals( "Failed to return minimum value.", 0, (int) tree.removeMin().getElement() );
+		assertEquals( "Failed to update height correctly.", 24998, tree.getHeight() );
+		assertEquals( "Failed to update size.", 24998, tree.size() );
+		assertEquals( "Snapshot saw a later change.", 25000, snapshot.size() );
+		assertTrue( snapshot.contains( 24999 ) );
+	}
+
+	/**
+	 * Test method for {@link implementations.PersistentBSTree#inorderIterator()}
+	 * while another thread keeps adding, the iteration must match the version it
+	 * was created from.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@Test
+	public void testInorderIterator_ConcurrentWithAdd() throws InterruptedException
+	{
+		for( int i = 0; i < 1000; i++ )
+		{
+			tree.add( i * 2 );
+		}
+		Thread writer = new Thread( () -> {
+			for( int i = 0; i < 1000; i++ )
+			{
+				tree.add( i * 2 + 1 );
+				tree.removeMax();
+			}
+		} );
+		writer.start();
+
+		PersistentBSTree<Integer> snapshot = tree.snapshot();
+		int expected = snapshot.size();
+		int seen = 0;
+		int previous = -1;
+		Iterator<Integer> it = snapshot.inorderIterator();
+		while( it.hasNext() )
+		{
+			int value = it.next();
+			assertTrue( "In-order iterator is out of order.", value > previous );
+			previous = value;
+			seen++;
+		}
+		writer.join();
+
+		assertEquals( "Snapshot changed while iterating.", expected, seen );
+	}
+}
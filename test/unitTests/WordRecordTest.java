@@ -0,0 +1,269 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import implementations.BSTree;
+import word_tracker.FileDictionary;
+import word_tracker.WordIndex;
+import word_tracker.WordRecord;
+
+/**
+ * Class Description: Tests for the WordRecord, its locations and the saved form
+ * read back from repository.ser.
+ */
+public class WordRecordTest
+{
+	// Attributes
+	/**
+	 * A record of "tree" saved by the WordRecord that kept its locations in a
+	 * HashMap field, found in test1.txt on lines 2, 5 and 5 and in test3.txt on
+	 * lines 1 and 10 to 16.
+	 */
+	private static final String OLD_FORMAT_RECORD = "rO0ABXNyABd3b3JkX3RyYWNrZXIuV29yZFJlY29yZAAAAAAAAACQAgACTAAKcmVmZXJlbmNlc3QA" +
+			"E0xqYXZhL3V0aWwvSGFzaE1hcDtMAAR3b3JkdAASTGphdmEvbGFuZy9TdHJpbmc7eHBzcgARamF2" +
+			"YS51dGlsLkhhc2hNYXAFB9rBwxZg0QMAAkYACmxvYWRGYWN0b3JJAAl0aHJlc2hvbGR4cD9AAAAA" +
+			"AAAMdwgAAAAQAAAAAnQACXRlc3QxLnR4dHNyABNqYXZhLnV0aWwuQXJyYXlMaXN0eIHSHZnHYZ0D" +
+			"AAFJAARzaXpleHAAAAADdwQAAAADc3IAEWphdmEubGFuZy5JbnRlZ2VyEuKgpPeBhzgCAAFJAAV2" +
+			"YWx1ZXhyABBqYXZhLmxhbmcuTnVtYmVyhqyVHQuU4IsCAAB4cAAAAAJzcQB+AAkAAAAFcQB+AAx4" +
+			"dAAJdGVzdDMudHh0c3EAfgAHAAAACHcEAAAACHNxAH4ACQAAAAFzcQB+AAkAAAAKc3EAfgAJAAAA" +
+			"C3NxAH4ACQAAAAxzcQB+AAkAAAANc3EAfgAJAAAADnNxAH4ACQAAAA9zcQB+AAkAAAAQeHh0AAR0" +
+			"cmVl";
+	private WordRecord record;
+
+	/**
+	 * Initializes a new WordRecord with locations in two files before each test,
+	 * more lines than the first line array of a file holds.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		record = new WordRecord( "tree" );
+		record.addLocation( "test1.txt", 2 );
+		record.addLocation( "test1.txt", 5 );
+		record.addLocation( "test1.txt", 5 );
+		record.addLocation( "test3.txt", 1 );
+		for( int line = 10; line <= 16; line++ )
+		{
+			record.addLocation( "test3.txt", line );
+		}
+	}
+
+	/**
+	 * Cleans up instances used after each test.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		record = null;
+	}
+
+	/**
+	 * Writes an object and reads it back.
+	 *
+	 * @param object object to serialize
+	 * @return the object read back
+	 * @throws Exception if serialization fails
+	 */
+	private static Object roundTrip( Object object ) throws Exception
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try( ObjectOutputStream out = new ObjectOutputStream( bytes ) )
+		{
+			out.writeObject( object );
+		}
+		return read( bytes.toByteArray() );
+	}
+
+	/**
+	 * Reads an object from serialized bytes.
+	 *
+	 * @param bytes serialized object
+	 * @return the object read
+	 * @throws Exception if deserialization fails
+	 */
+	private static Object read( byte[] bytes ) throws Exception
+	{
+		try( ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes ) ) )
+		{
+			return in.readObject();
+		}
+	}
+
+	/**
+	 * Locations of the record made in setUp.
+	 *
+	 * @return the file names and line numbers added in setUp
+	 */
+	private static HashMap<String, ArrayList<Integer>> expectedReferences()
+	{
+		HashMap<String, ArrayList<Integer>> references = new HashMap<String, ArrayList<Integer>>();
+		references.put( "test1.txt", new ArrayList<Integer>( Arrays.asList( 2, 5, 5 ) ) );
+		references.put( "test3.txt", new ArrayList<Integer>( Arrays.asList( 1, 10, 11, 12, 13, 14, 15, 16 ) ) );
+		return references;
+	}
+
+	/**
+	 * Locations in one file.
+	 *
+	 * @param file  file name
+	 * @param lines line numbers in the file
+	 * @return map from the file name to the line numbers
+	 */
+	private static HashMap<String, ArrayList<Integer>> references( String file, Integer... lines )
+	{
+		HashMap<String, ArrayList<Integer>> references = new HashMap<String, ArrayList<Integer>>();
+		references.put( file, new ArrayList<Integer>( Arrays.asList( lines ) ) );
+		return references;
+	}
+
+	/**
+	 * Test method for {@link word_tracker.WordRecord#addLocation(java.lang.String, int)}
+	 * and {@link word_tracker.WordRecord#getReferences()}.
+	 */
+	@Test
+	public void testAddLocation()
+	{
+		assertEquals( "Failed to return word.", "tree", record.getWord() );
+		assertEquals( "Failed to keep locations in order.", expectedReferences(), record.getReferences() );
+
+		record.getReferences().clear();
+		assertEquals( "Changing the references changed the record.", expectedReferences(), record.getReferences() );
+	}
+
+	/**
+	 * Test method for the saved form of {@link word_tracker.WordRecord}, a record
+	 * read back must have the same word and locations and keep taking locations.
+	 *
+	 * @throws Exception if serialization fails
+	 */
+	@Test
+	public void testSerialization_RoundTrip() throws Exception
+	{
+		WordRecord copy = (WordRecord) roundTrip( record );
+		assertEquals( "Failed to keep word when serialized.", "tree", copy.getWord() );
+		assertEquals( "Failed to keep locations when serialized.", expectedReferences(), copy.getReferences() );
+
+		copy.addLocation( "test1.txt", 9 );
+		copy.addLocation( "test2.txt", 4 );
+		HashMap<String, ArrayList<Integer>> expected = expectedReferences();
+		expected.get( "test1.txt" ).add( 9 );
+		expected.put( "test2.txt", new ArrayList<Integer>( Arrays.asList( 4 ) ) );
+		assertEquals( "Failed to add locations after being serialized.", expected, copy.getReferences() );
+
+		WordRecord empty = (WordRecord) roundTrip( new WordRecord( "leaf" ) );
+		assertEquals( "leaf", empty.getWord() );
+		assertTrue( "Empty record gained locations.", empty.getReferences().isEmpty() );
+	}
+
+	/**
+	 * Test method for reading a {@link word_tracker.WordRecord} saved in the old
+	 * form, with its locations in a HashMap, the locations must be kept and the
+	 * record must save again in the new form.
+	 *
+	 * @throws Exception if deserialization fails
+	 */
+	@Test
+	public void testSerialization_OldFormat() throws Exception
+	{
+		WordRecord old = (WordRecord) read( Base64.getDecoder().decode( OLD_FORMAT_RECORD ) );
+		assertEquals( "Failed to read word of an old record.", "tree", old.getWord() );
+		assertEquals( "Failed to read locations of an old record.", expectedReferences(), old.getReferences() );
+		assertEquals( "Old record does not compare like a new one.", 0, old.compareTo( record ) );
+
+		old.addLocation( "test3.txt", 20 );
+		WordRecord copy = (WordRecord) roundTrip( old );
+		HashMap<String, ArrayList<Integer>> expected = expectedReferences();
+		expected.get( "test3.txt" ).add( 20 );
+		assertEquals( "Failed to save an old record in the new form.", expected, copy.getReferences() );
+	}
+
+	/**
+	 * Test method for two repositories used in the same run, each one must number
+	 * its own files while words are added to both in turn, and keep them when
+	 * saved and loaded.
+	 *
+	 * @throws Exception if serialization fails
+	 */
+	@SuppressWarnings( "unchecked" )
+	@Test
+	public void testTwoRepositories_InterleavedFileNames() throws Exception
+	{
+		WordIndex first = new WordIndex( new BSTree<WordRecord>( BSTree.BalanceMode.AVL ) );
+		WordIndex second = new WordIndex( new BSTree<WordRecord>( BSTree.BalanceMode.AVL ) );
+		assertNotSame( "Repositories share a dictionary.", first.getDictionary(), second.getDictionary() );
+
+		first.getOrAdd( "tree" ).addLocation( "a.txt", 1 );
+		second.getOrAdd( "tree" ).addLocation( "b.txt", 2 );
+		first.getOrAdd( "leaf" ).addLocation( "b.txt", 3 );
+		second.getOrAdd( "tree" ).addLocation( "c.txt", 4 );
+		second.getOrAdd( "leaf" ).addLocation( "a.txt", 5 );
+		first.getOrAdd( "tree" ).addLocation( "a.txt", 6 );
+
+		assertEquals( "Failed to number files of the first repository.", 0, first.getDictionary().idOf( "a.txt" ) );
+		assertEquals( "Failed to number files of the first repository.", 1, first.getDictionary().idOf( "b.txt" ) );
+		assertEquals( "Failed to number files of the second repository.", 0, second.getDictionary().idOf( "b.txt" ) );
+		assertEquals( "Failed to number files of the second repository.", 1, second.getDictionary().idOf( "c.txt" ) );
+		assertEquals( "Failed to number files of the second repository.", 2, second.getDictionary().idOf( "a.txt" ) );
+
+		WordIndex firstLoaded = new WordIndex( (BSTree<WordRecord>) roundTrip( first.getTree() ) );
+		WordIndex secondLoaded = new WordIndex( (BSTree<WordRecord>) roundTrip( second.getTree() ) );
+		assertEquals( "Failed to keep locations of the first repository.", references( "a.txt", 1, 6 ),
+				firstLoaded.getOrAdd( "tree" ).getReferences() );
+		assertEquals( "Failed to keep locations of the first repository.", references( "b.txt", 3 ),
+				firstLoaded.getOrAdd( "leaf" ).getReferences() );
+		assertEquals( "Failed to keep locations of the second repository.", references( "a.txt", 5 ),
+				secondLoaded.getOrAdd( "leaf" ).getReferences() );
+		assertEquals( "Failed to keep ids when loaded.", 2, secondLoaded.getDictionary().idOf( "a.txt" ) );
+		assertEquals( "Failed to give the next id after loading.", 2, firstLoaded.getDictionary().idOf( "c.txt" ) );
+
+		WordRecord tree = secondLoaded.getOrAdd( "tree" ).merge( firstLoaded.getOrAdd( "tree" ) );
+		HashMap<String, ArrayList<Integer>> expected = references( "b.txt", 2 );
+		expected.put( "c.txt", new ArrayList<Integer>( Arrays.asList( 4 ) ) );
+		expected.put( "a.txt", new ArrayList<Integer>( Arrays.asList( 1, 6 ) ) );
+		assertEquals( "Failed to merge records of two repositories.", expected, tree.getReferences() );
+	}
+
+	/**
+	 * Test method for {@link word_tracker.WordIndex#WordIndex(implementations.BSTree)}
+	 * with records in their own dictionaries, the index must move them all to
+	 * the dictionary of the repository.
+	 *
+	 * @throws Exception if deserialization fails
+	 */
+	@Test
+	public void testWordIndex_BindsRecords() throws Exception
+	{
+		BSTree<WordRecord> tree = new BSTree<WordRecord>( BSTree.BalanceMode.AVL );
+		tree.add( (WordRecord) read( Base64.getDecoder().decode( OLD_FORMAT_RECORD ) ) );
+		WordRecord leaf = new WordRecord( "leaf", new FileDictionary() );
+		leaf.addLocation( "test5.txt", 8 );
+		tree.add( leaf );
+
+		WordIndex index = new WordIndex( tree );
+		assertEquals( "Records were not moved to the dictionary of the repository.", 3,
+				index.getDictionary().idOf( "test4.txt" ) );
+		index.getOrAdd( "leaf" ).addLocation( "test1.txt", 9 );
+		HashMap<String, ArrayList<Integer>> expected = references( "test5.txt", 8 );
+		expected.put( "test1.txt", new ArrayList<Integer>( Arrays.asList( 9 ) ) );
+		assertEquals( "Failed to keep locations when moved to the repository.", expected, leaf.getReferences() );
+		assertEquals( "Failed to keep locations of an old record.", expectedReferences(),
+				index.getOrAdd( "tree" ).getReferences() );
+	}
+}
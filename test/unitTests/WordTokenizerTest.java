@@ -0,0 +1,368 @@
+package unitTests;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Locale;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import word_tracker.WordTokenizer;
+
+/**
+ * Class Description: Tests for the WordTokenizer, comparing every word and line
+ * number it gives with the readLine and split loop it replaced, when reading
+ * from a reader and from a mapped file.
+ */
+public class WordTokenizerTest
+{
+	// Attributes
+	private Locale defaultLocale;
+	private File file;
+
+	/**
+	 * Saves the default locale, some tests change it.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@Before
+	public void setUp() throws Exception
+	{
+		defaultLocale = Locale.getDefault();
+		file = File.createTempFile( "words", ".txt" );
+	}
+
+	/**
+	 * Puts the default locale back and deletes the file used by mapped tests.
+	 *
+	 * @throws java.lang.Exception
+	 */
+	@After
+	public void tearDown() throws Exception
+	{
+		Locale.setDefault( defaultLocale );
+		if( !file.delete() )
+		{
+			file.deleteOnExit(); // Still mapped on some platforms
+		}
+	}
+
+	/**
+	 * Words of a text the way WordTracker split them before WordTokenizer, each
+	 * word with its line number.
+	 *
+	 * @param in reader of the text
+	 * @return the words as line number, colon and word
+	 * @throws IOException if the text cannot be read
+	 */
+	private static ArrayList<String> splitWords( Reader in ) throws IOException
+	{
+		ArrayList<String> words = new ArrayList<String>();
+		try( BufferedReader reader = new BufferedReader( in ) )
+		{
+			String line;
+			int lineNumber = 0;
+			while( ( line = reader.readLine() ) != null )
+			{
+				lineNumber++;
+				for( String word : line.toLowerCase().split( "[ ,.;:!?()\"'-]+" ) )
+				{
+					if( !word.isEmpty() )
+					{
+						words.add( lineNumber + ":" + word );
+					}
+				}
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * Words given by a tokenizer, each word with its line number.
+	 *
+	 * @param words tokenizer of the text, closed when done
+	 * @return the words as line number, colon and word
+	 * @throws IOException if the text cannot be read
+	 */
+	private static ArrayList<String> tokenizedWords( WordTokenizer words ) throws IOException
+	{
+		ArrayList<String> tokens = new ArrayList<String>();
+		try( WordTokenizer in = words )
+		{
+			while( in.next() )
+			{
+				tokens.add( in.lineNumber() + ":" + new String( in.chars(), in.offset(), in.length() ) );
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Reader that gives at most a few chars per read, so line breaks and words
+	 * are split between reads.
+	 *
+	 * @param text text to read
+	 * @param chunk most chars given by one read
+	 * @return the reader
+	 */
+	private static Reader chunked( String text, final int chunk )
+	{
+		return new StringReader( text )
+		{
+			@Override
+			public int read( char[] buffer, int offset, int length ) throws IOException
+			{
+				return super.read( buffer, offset, Math.min( length, chunk ) );
+			}
+		};
+	}
+
+	/**
+	 * Checks that the tokenizer gives the same words as the old loop for a text,
+	 * read whole and a few chars at a time.
+	 *
+	 * @param text text to tokenize
+	 * @throws IOException if the text cannot be read
+	 */
+	private static void assertSameWords( String text ) throws IOException
+	{
+		ArrayList<String> expected = splitWords( new StringReader( text ) );
+		assertEquals( "Words differ from readLine and split.", expected,
+				tokenizedWords( new WordTokenizer( new StringReader( text ) ) ) );
+		for( int chunk = 1; chunk <= 3; chunk++ )
+		{
+			assertEquals( "Words differ when read " + chunk + " chars at a time.", expected,
+					tokenizedWords( new WordTokenizer( chunked( text, chunk ) ) ) );
+		}
+	}
+
+	/**
+	 * Checks that the tokenizer gives the same words as the old loop for a UTF-8
+	 * file mapped a few bytes at a time, so lines and line breaks are split
+	 * between windows, and mapped with the default window.
+	 *
+	 * @param text text to write to the file as UTF-8
+	 * @throws IOException if the file cannot be written or read
+	 */
+	private void assertSameMappedWords( String text ) throws IOException
+	{
+		byte[] bytes = text.getBytes( StandardCharsets.UTF_8 );
+		Files.write( file.toPath(), bytes );
+		ArrayList<String> expected = splitWords(
+				new InputStreamReader( new ByteArrayInputStream( bytes ), StandardCharsets.UTF_8 ) );
+		for( int window = 1; window <= 9; window++ )
+		{
+			try( FileChannel channel = FileChannel.open( file.toPath() ) )
+			{
+				assertEquals( "Words differ when mapped " + window + " bytes at a time.", expected,
+						tokenizedWords( new WordTokenizer( channel, window ) ) );
+			}
+		}
+		try( FileChannel channel = FileChannel.open( file.toPath() ) )
+		{
+			assertEquals( "Words differ from readLine and split when mapped.", expected,
+					tokenizedWords( new WordTokenizer( channel ) ) );
+		}
+	}
+
+	/**
+	 * Text of a given length made of words and separators.
+	 *
+	 * @param length number of chars
+	 * @return the text
+	 */
+	private static String filler( int length )
+	{
+		String pattern = "Lorem ipsum, DOLOR sit-amet; (consectetur) \"adipiscing\" elit! ";
+		StringBuilder sb = new StringBuilder( length );
+		while( sb.length() < length )
+		{
+			sb.append( pattern.charAt( sb.length() % pattern.length() ) );
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Test method for {@link word_tracker.WordTokenizer#next()} on separators,
+	 * empty lines and each kind of line break.
+	 *
+	 * @throws IOException if the text cannot be read
+	 */
+	@Test
+	public void testNext_LineBreaks() throws IOException
+	{
+		assertSameWords( "" );
+		assertSameWords( "\n" );
+		assertSameWords( "\r" );
+		assertSameWords( "\r\n" );
+		assertSameWords( "word" );
+		assertSameWords( "One\rTwo\r\nThree\nFour" );
+		assertSameWords( "\r\r\n\n\r\nlate start\r" );
+		assertSameWords( "It's (quite) \"simple\": one-two; three, four! five? six." );
+		assertSameWords( "  ,,,  \n.;:!?()\"'-\nend\n\n" );
+	}
+
+	/**
+	 * Test method for {@link word_tracker.WordTokenizer#next()} with a \r as the
+	 * last char of the first buffer and the \n of the same line break as the
+	 * first char read into the next.
+	 *
+	 * @throws IOException if the text cannot be read
+	 */
+	@Test
+	public void testNext_LineBreakAcrossRefill() throws IOException
+	{
+		assertSameWords( filler( 8191 ) + "\r\nNext line" );
+		assertSameWords( filler( 8191 ) + "\rNext line" );
+		assertSameWords( "first\n" + filler( 8185 ) + "\r\n\r\nThird" );
+	}
+
+	/**
+	 * Test method for {@link word_tracker.WordTokenizer#next()} on lines longer
+	 * than half the buffer and longer than several buffers.
+	 *
+	 * @throws IOException if the text cannot be read
+	 */
+	@Test
+	public void testNext_LongLines() throws IOException
+	{
+		assertSameWords( filler( 5000 ) + "\n" + filler( 5000 ) + "\n" + filler( 5000 ) );
+		assertSameWords( "short\r\n" + filler( 40000 ) + "\r\nshort" );
+		assertSameWords( filler( 8192 ) + filler( 8192 ).toUpperCase() );
+	}
+
+	/**
+	 * Test method for {@link word_tracker.WordTokenizer#next()} on lines with
+	 * chars outside ASCII, which are lowercased by String.toLowerCase().
+	 *
+	 * @throws IOException if the text cannot be read
+	 */
+	@Test
+	public void testNext_NonAscii() throws IOException
+	{
+		assertSameWords( "\u00C9COLE \u00E9t\u00E9 NA\u00CFVE\nplain ASCII line\r\n\u0394\u0395\u039B\u03A4\u0391 \u03A3\u039F\u03A6\u0399\u0391" );
+		assertSameWords( "\uFEFFByte order mark, \u0130stanbul STRASSE \u00DF" );
+		assertSameWords( filler( 9000 ) + "\u00C0" + filler( 9000 ) );
+	}
+
+	/**
+	 * Test method for {@link word_tracker.WordTokenizer#next()} in the Turkish
+	 * and Azeri locales, where I is not lowercased to i.
+	 *
+	 * @throws IOException if the text cannot be read
+	 */
+	@Test
+	public void testNext_TurkishLocale() throws IOException
+	{
+		Locale.setDefault( new Locale( "tr", "TR" ) );
+		assertSameWords( "ISTANBUL Izmir, I\u0130 i\u0131\nPLAIN WORDS" );
+		assertEquals( "Failed to lowercase I to a dotless i.", "1:\u0131stanbul",
+				tokenizedWords( new WordTokenizer( new StringReader( "ISTANBUL" ) ) ).get( 0 ) );
+
+		Locale.setDefault( new Locale( "az" ) );
+		assertSameWords( "BAKI I\u0130\r\nIki" );
+	}
+
+	/**
+	 * Test method for {@link word_tracker.WordTokenizer#next()} on a mapped file
+	 * with lines longer than a window and lines starting in one window and ending
+	 * in the next.
+	 *
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testNext_MappedLinesAcrossWindows() throws IOException
+	{
+		assertSameMappedWords( "" );
+		assertSameMappedWords( "\n" );
+		assertSameMappedWords( "word" );
+		assertSameMappedWords( "One\rTwo\r\nThree\nFour" );
+		assertSameMappedWords( "A line much longer than any window, with (separators)!\nnext-line\r\n\r\nend" );
+		assertSameMappedWords( filler( 3000 ) + "\r\n" + filler( 100 ).toUpperCase() + "\n" );
+	}
+
+	/**
+	 * Test method for {@link word_tracker.WordTokenizer#next()} on a mapped file
+	 * with the \r of a line break as the last byte of a window and its \n as the
+	 * first byte of the next window.
+	 *
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testNext_MappedLineBreakAcrossWindows() throws IOException
+	{
+		Files.write( file.toPath(), "abc\r\nxyz\r".getBytes( StandardCharsets.US_ASCII ) );
+		try( FileChannel channel = FileChannel.open( file.toPath() ) )
+		{
+			ArrayList<String> words = tokenizedWords( new WordTokenizer( channel, 4 ) );
+			assertEquals( "Failed to treat \\r\\n split between windows as one line break.", 2, words.size() );
+			assertEquals( "1:abc", words.get( 0 ) );
+			assertEquals( "2:xyz", words.get( 1 ) );
+		}
+		assertSameMappedWords( "abc\r\nxyz\r\n\r\n1234567\r\nlast" );
+	}
+
+	/**
+	 * Test method for {@link word_tracker.WordTokenizer#next()} on a mapped file
+	 * with multi-byte UTF-8 chars, also split between windows, and in the Turkish
+	 * locale.
+	 *
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testNext_MappedUtf8() throws IOException
+	{
+		assertSameMappedWords( "\u00C9COLE \u00E9t\u00E9 NA\u00CFVE\nplain ASCII line\r\n\u0394\u0395\u039B\u03A4\u0391 \u03A3\u039F\u03A6\u0399\u0391" );
+		assertSameMappedWords( "\uFEFFByte order mark\r\n\uD83D\uDE00 EMOJI, \u4E2D\u6587 text" );
+		assertSameMappedWords( filler( 500 ) + "\u00C0" + filler( 500 ) );
+
+		Locale.setDefault( new Locale( "tr", "TR" ) );
+		assertSameMappedWords( "ISTANBUL Izmir, I\u0130 i\u0131\nPLAIN WORDS" );
+	}
+
+	/**
+	 * Test method for {@link word_tracker.WordTokenizer#WordTokenizer(java.nio.channels.FileChannel, int)}
+	 * to reject a window that cannot hold a byte.
+	 *
+	 * @throws IOException if the file cannot be opened
+	 */
+	@Test( expected = IllegalArgumentException.class )
+	public void testWordTokenizer_IllegalWindowSize() throws IOException
+	{
+		try( FileChannel channel = FileChannel.open( file.toPath() ) )
+		{
+			new WordTokenizer( channel, 0 );
+		}
+	}
+
+	/**
+	 * Test method for {@link word_tracker.WordTokenizer#next()} on the sample
+	 * files in res.
+	 *
+	 * @throws IOException if a file cannot be read
+	 */
+	@Test
+	public void testNext_SampleFiles() throws IOException
+	{
+		for( String name : new String[] { "res/test1.txt", "res/test2.txt", "res/test3.txt" } )
+		{
+			ArrayList<String> expected = splitWords( new FileReader( name ) );
+			assertFalse( "Sample file has no words.", expected.isEmpty() );
+			assertEquals( "Words differ from readLine and split in " + name, expected,
+					tokenizedWords( new WordTokenizer( new FileReader( name ) ) ) );
+		}
+	}
+}